@@ -0,0 +1,15 @@
+package com.gigabitwize.conversations.api;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Converter} that doesn't block, e.g one that looks the input up in a database.
+ * Completing with null or exceptionally counts as a failed conversion.
+ */
+@FunctionalInterface
+public interface AsyncConverter<A> {
+
+    CompletionStage<A> convert(String input);
+}
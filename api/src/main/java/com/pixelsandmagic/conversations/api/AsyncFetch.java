@@ -0,0 +1,16 @@
+package com.gigabitwize.conversations.api;
+
+import net.kyori.adventure.audience.Audience;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Fetch} that doesn't block, the conversation moves on once the returned stage completes.
+ */
+@FunctionalInterface
+public interface AsyncFetch<A> {
+
+    CompletionStage<?> execute(A input, Audience sender);
+}
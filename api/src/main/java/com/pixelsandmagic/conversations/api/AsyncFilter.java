@@ -0,0 +1,15 @@
+package com.gigabitwize.conversations.api;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A filter that doesn't block, e.g one that checks if a guild name is still available.
+ * Anything but completing with true counts as a failed filter.
+ */
+@FunctionalInterface
+public interface AsyncFilter<A> {
+
+    CompletionStage<Boolean> test(A input);
+}
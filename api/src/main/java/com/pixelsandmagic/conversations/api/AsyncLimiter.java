@@ -0,0 +1,55 @@
+package com.gigabitwize.conversations.api;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Caps the amount of async validations that are in flight at once, over all conversations.
+ * Validations over the cap wait in line instead of blocking a thread, and are started as permits free up.
+ */
+final class AsyncLimiter {
+
+    private final Semaphore permits;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    AsyncLimiter(int maxInFlight) {
+        if (maxInFlight < 1) throw new IllegalArgumentException("Max in flight validations must be at least 1");
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Runs the launch as soon as a permit is available, the launch has to {@link #release()} it eventually.
+     */
+    void submit(Runnable launch) {
+        waiting.offer(launch);
+        drain();
+    }
+
+    void release() {
+        permits.release();
+        drain();
+    }
+
+    int getWaiting() {
+        return waiting.size();
+    }
+
+    private void drain() {
+        // Re-checked after every acquire, a launch offered between isEmpty and tryAcquire is picked up by its own drain
+        while (!waiting.isEmpty() && permits.tryAcquire()) {
+            Runnable launch = waiting.poll();
+            if (launch == null) {
+                permits.release();
+                continue;
+            }
+            try {
+                launch.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
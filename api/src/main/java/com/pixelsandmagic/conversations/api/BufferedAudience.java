@@ -0,0 +1,59 @@
+package com.gigabitwize.conversations.api;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Collects the messages a conversation sends its participant while its {@link ConversationMailbox} runs a task,
+ * e.g the echo, fail text and next prompt that follow a single input, and sends them as one message once the task is done.
+ * <p>
+ * Only messages sent on the mailbox's thread during a task are collected, anything else is sent right away.
+ */
+final class BufferedAudience implements ForwardingAudience.Single {
+
+    private final Audience audience;
+    private final ArrayList<Component> pending = new ArrayList<>(4);
+    @Nullable
+    private volatile Thread stepThread;
+
+    BufferedAudience(Audience audience) {
+        this.audience = audience;
+    }
+
+    @Override
+    public @NotNull Audience audience() {
+        return audience;
+    }
+
+    @Override
+    public void sendMessage(@NotNull Component message) {
+        if (Thread.currentThread() == stepThread) pending.add(message);
+        else audience.sendMessage(message);
+    }
+
+    /**
+     * Starts collecting messages sent on the calling thread.
+     */
+    void open() {
+        stepThread = Thread.currentThread();
+    }
+
+    /**
+     * Stops collecting, and sends whatever was collected joined by newlines.
+     */
+    void flush() {
+        stepThread = null;
+        if (pending.isEmpty()) return;
+        if (pending.size() == 1) audience.sendMessage(pending.get(0));
+        else audience.sendMessage(Component.join(JoinConfiguration.newlines(), pending));
+        pending.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.util.ChoiceIndex;
+import com.gigabitwize.conversations.api.util.ComponentCache;
+import com.gigabitwize.conversations.api.util.Constants;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Prompt} that picks one of many named options, e.g a material or a warp. The options are looked up in a
+ * {@link ChoiceIndex}, so the input may be abbreviated to a unique prefix or contain a typo. When the input doesn't
+ * resolve, the sender is told which options they might have meant.
+ * <p>
+ * e.g;
+ * private static final ChoiceIndex<Material> MATERIALS = ChoiceIndex.of(Material.class);
+ * new ChoicePrompt<>(Component.text("Which block?"), MATERIALS)
+ * .fetch((material, sender) -> ...)
+ * <p>
+ * The index is immutable, build it once and share it between prompts.
+ * Setting a regular {@link #converter(Converter)} falls back to the regular pipeline. The answer might not be one of
+ * the options then, so it's only stored for a persistent conversation if a {@link #codec(AnswerCodec)} is set.
+ */
+public class ChoicePrompt<T> extends Prompt<T> {
+
+    private final ChoiceIndex<T> index;
+    private final AnswerCodec<T> indexCodec;
+    private int maxDistance = 1;
+    private int suggestions = 3;
+    private Component suggestionText = Constants.DID_YOU_MEAN_MESSAGE;
+
+    public ChoicePrompt(Component text, ChoiceIndex<T> index) {
+        super(text);
+        this.index = index;
+        this.indexCodec = index.codec();
+    }
+
+    /**
+     * The max. amount of typos an input may contain and still match, defaults to 1.
+     * The input only matches if a single option is the closest.
+     *
+     * @apiNote 0 to only match full names and unique prefixes.
+     */
+    public ChoicePrompt<T> maxDistance(int maxDistance) {
+        this.maxDistance = Math.max(0, maxDistance);
+        return this;
+    }
+
+    /**
+     * The max. amount of options suggested when the input doesn't resolve, defaults to 3.
+     *
+     * @apiNote 0 to not suggest anything.
+     */
+    public ChoicePrompt<T> suggestions(int amount) {
+        this.suggestions = amount;
+        return this;
+    }
+
+    /**
+     * The text that precedes the suggested options, defaults to {@link Constants#DID_YOU_MEAN_MESSAGE}.
+     */
+    public ChoicePrompt<T> suggestionText(@NotNull String component) {
+        this.suggestionText = ComponentCache.legacy(component);
+        return this;
+    }
+
+    public ChoiceIndex<T> getIndex() {
+        return index;
+    }
+
+    //** INTERNAL **//
+    @Override
+    protected AnswerCodec<T> getCodec() {
+        AnswerCodec<T> codec = super.getCodec();
+        if (codec != null || hasConverter()) return codec;
+        return indexCodec;
+    }
+
+    @Override
+    protected void handleInput(Conversation conversation, String input) {
+        if (hasConverter()) {
+            super.handleInput(conversation, input);
+            return;
+        }
+        conversation.attempted();
+        T choice = resolve(input, conversation.getAudience());
+        if (choice != null) filterAndAccept(conversation, choice);
+    }
+
+    @Override
+    protected @Nullable T evaluate(String input, Audience sender) {
+        if (hasConverter()) return super.evaluate(input, sender);
+        T choice = resolve(input, sender);
+        if (choice == null) return null;
+        return passesFilter(choice, sender) ? choice : null;
+    }
+
+    /**
+     * Looks the input up in the index, and tells the sender what they might have meant if it doesn't resolve.
+     */
+    private @Nullable T resolve(String input, Audience sender) {
+        T choice = index.resolve(input, maxDistance);
+        if (choice != null) return choice;
+        conversionFailed(sender);
+        List<String> candidates = index.suggest(input, maxDistance, suggestions);
+        if (!candidates.isEmpty())
+            sender.sendMessage(suggestionText.append(Component.text(String.join(", ", candidates) + "?")));
+        return null;
+    }
+}
@@ -1,24 +1,46 @@
 package com.gigabitwize.conversations.api;
 
 import com.gigabitwize.conversations.api.clause.Clause;
+import com.gigabitwize.conversations.api.jfr.ConversationEndEvent;
+import com.gigabitwize.conversations.api.jfr.ConversationEvents;
+import com.gigabitwize.conversations.api.jfr.InputEvent;
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.persistence.ConversationJournal;
+import com.gigabitwize.conversations.api.persistence.ConversationSession;
+import com.gigabitwize.conversations.api.persistence.ConversationStore;
+import com.gigabitwize.conversations.api.util.ComponentCache;
+import com.gigabitwize.conversations.api.util.Constants;
 import com.gigabitwize.conversations.api.util.StringValidator;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Created by Giovanni on 2/8/2023
  */
 public class Conversation {
 
-    private final Audience audience;
+    private final UUID participant;
+    private Audience audience;
+    private final ConversationMailbox mailbox;
+    @Nullable
+    private BufferedAudience output;
 
-    private boolean finished, echo;
+    private volatile boolean finished;
+    private boolean echo;
 
     @Nullable
     private Component by, onComplete;
@@ -26,51 +48,217 @@ public class Conversation {
     @Nullable
     private ArrayList<Clause> endClauses;
 
-    private ChatVisibility chatVisibility = ChatVisibility.ALL;
+    private volatile ChatVisibility chatVisibility = ChatVisibility.ALL;
 
+    @Nullable
+    private final ConversationTemplate template;
     private ArrayList<Prompt<?>> prompts;
+    @Nullable
+    private PromptSource promptSource;
+    // Codecs of the answered prompts of a PromptSource, which are gone by the time the session is saved
+    @Nullable
+    private HashMap<Integer, AnswerCodec<?>> answerCodecs;
+
+    // The cursor, where this conversation is at
     private Prompt<?> currentPrompt;
+    private int currentPromptId, currentAttempt;
+    private long promptDisplayedAt;
+    // Last time the participant sent input, see Conversations#idleTimeout
+    private volatile long lastActive;
+    // Order in which the conversation was registered while conversations are capped, see Conversations#maxConversations
+    private volatile long registration;
+    // Only set while flight recorder events are enabled, see ConversationEvents
+    private long startedAt;
+    @Nullable
+    private String endReason;
+
+    // Async validation of the current prompt's input, see Prompt#converterAsync
+    private static final int MAX_QUEUED_INPUT = 8;
+    private boolean validating;
+    private int validationToken;
+    @Nullable
+    private ArrayDeque<String> queuedInput;
+
+    @Nullable
+    private ArrayList<Clause.Reactive> activeClauses;
+    // Clauses that see the participant's input, see Clause.InputAware
+    @Nullable
+    private Clause.InputAware[] inputClauses;
+    private boolean inputAccepted;
+
+    @Nullable
+    private HashMap<Integer, Object> answers;
+
+    @Nullable
+    private String persistenceKey;
+    private long journalId;
+    private int resumePromptId, resumeAttempt;
+    // Write-behind to the ConversationStore
+    private boolean sessionDirty, sessionSaved, checkpointed;
+    // Left in the journal when the participant quit, see #quit
+    private boolean parked;
+
+    // Rate limiting of the participant's input before it reaches the mailbox, see RateLimit
+    private static final AtomicLongFieldUpdater<Conversation> INPUT_DUE_AT =
+            AtomicLongFieldUpdater.newUpdater(Conversation.class, "inputDueAt");
+    private static final AtomicLongFieldUpdater<Conversation> REGISTRATION =
+            AtomicLongFieldUpdater.newUpdater(Conversation.class, "registration");
+    private static final AtomicReferenceFieldUpdater<Conversation, String> COALESCED_INPUT =
+            AtomicReferenceFieldUpdater.newUpdater(Conversation.class, String.class, "coalescedInput");
+    @Nullable
+    private RateLimit rateLimit;
+    @Nullable
+    private volatile RateLimit activeRateLimit;
+    private volatile long inputDueAt = Long.MIN_VALUE;
+    @Nullable
+    private volatile String coalescedInput;
 
     /**
      * @param participant Audience that participates in this conversation.
      */
     public Conversation(UUID participant) {
+        this.participant = participant;
         this.audience = Conversations.provider().player(participant);
+        this.mailbox = new ConversationMailbox(Conversations.stripeOf(participant));
+        this.template = null;
     }
 
     /**
-     * Actually executes the conversation.
+     * Creates a conversation that walks through a shared template, see {@link ConversationTemplate#create(UUID)}.
      */
-    public void run() {
-        if (!Conversations.isRegistered(this)) Conversations.registerConversation(this);
+    Conversation(UUID participant, ConversationTemplate template) {
+        this.participant = participant;
+        this.audience = Conversations.provider().player(participant);
+        this.mailbox = new ConversationMailbox(Conversations.stripeOf(participant));
+        this.template = template;
+        this.by = template.getBy();
+        this.onComplete = template.getFinishingText();
+        this.echo = template.echoOn();
+        this.chatVisibility = template.getChatVisibility();
+        bufferOutput(template.buffersOutput());
+    }
 
+    /**
+     * Actually executes the conversation.
+     *
+     * @return False if the conversation wasn't started because too many are running, see {@link Conversations#maxConversations}.
+     */
+    public boolean run() {
         if (finished) throw new IllegalStateException("Can't run finished conversation multiple times");
+        lastActive = System.nanoTime();
+        if (!Conversations.isRegistered(this) && !Conversations.registerConversation(this)) return false;
+
+        mailbox.post(this::start);
+        return true;
+    }
 
-        currentPrompt = nextPrompt();
-        if (currentPrompt != null) {
-            currentPrompt.display();
+    void start() {
+        if (finished) return;
+        Conversations.metrics().conversationStarted();
+        startedAt = ConversationEvents.now();
+        ConversationEvents.started(participant, resumePromptId > 0);
+        ConversationJournal journal = Conversations.journal();
+        if (persistenceKey != null && journal != null && journalId == 0L)
+            journalId = journal.started(persistenceKey, participant);
+
+        activateClauses();
+        Prompt<?> resumed = resumePromptId > 0 ? getPrompt(resumePromptId) : null;
+        if (resumed != null) {
+            show(resumePromptId, resumed);
+            currentAttempt = resumeAttempt;
+            if (journalId != 0L && resumeAttempt > 0 && journal != null)
+                journal.attempted(journalId, resumePromptId, resumeAttempt);
+            return;
         }
+        int first = nextPromptId();
+        Prompt<?> prompt = first != 0 ? getPrompt(first) : null;
+        if (prompt != null) show(first, prompt);
+    }
+
+    private void show(int promptId, Prompt<?> prompt) {
+        this.currentPromptId = promptId;
+        this.currentPrompt = prompt;
+        this.currentAttempt = 0;
+        this.validating = false;
+        if (queuedInput != null) queuedInput.clear();
+        this.activeRateLimit = currentPrompt.getRateLimit() != null ? currentPrompt.getRateLimit() : rateLimit;
+        // The journal is gone once the API is cleaned up, while tasks might still be draining
+        ConversationJournal journal = Conversations.journal();
+        if (journalId != 0L && journal != null) journal.prompted(journalId, promptId);
+        sessionChanged();
+        if (Conversations.metricsEnabled()) promptDisplayedAt = System.nanoTime();
+        ConversationEvents.promptDisplayed(participant, promptId);
+        currentPrompt.display(this);
     }
 
     /**
-     * Ticks the conversation, used for updating timers etc.
+     * Ends the conversation because the given clause triggered.
      */
-    protected void tick() {
+    protected void trigger(Clause clause) {
         if (!Conversations.isRegistered(this)) return;
         if (finished) return;
-        if (endClauses != null) {
+        if (clause.getTriggerMessage() != null)
+            audience.sendMessage(clause.getTriggerMessage());
+        endReason = clause.getClass().getName();
+        Conversations.endConversation(this);
+        finished = true;
+        Conversations.metrics().clauseTriggered(clause);
+    }
+
+    /**
+     * Activates every end clause, see {@link Conversations#reactive(Clause)}.
+     * {@link Clause.InputAware} clauses are also shown the participant's input from now on.
+     */
+    private void activateClauses() {
+        if (endClauses == null) return;
+        synchronized (endClauses) {
+            activeClauses = new ArrayList<>(endClauses.size());
+            ArrayList<Clause.InputAware> inputAware = null;
             for (Clause clause : endClauses) {
-                if (clause instanceof Clause.Ticking tickingClause)
-                    tickingClause.tick();
-
-                if (clause.hasBeenTriggered()) {
-                    if (clause.getTriggerMessage() != null)
-                        audience.sendMessage(clause.getTriggerMessage());
-                    Conversations.endConversation(this);
-                    finished = true;
-                    return;
+                Clause.Reactive reactive = Conversations.reactive(clause);
+                activeClauses.add(reactive);
+                if (clause instanceof Clause.InputAware inputClause) {
+                    if (inputAware == null) inputAware = new ArrayList<>(1);
+                    inputAware.add(inputClause);
                 }
+                reactive.activate(() -> {
+                    ConversationEvents.clauseTriggered(participant, clause);
+                    mailbox.post(() -> trigger(clause));
+                });
             }
+            if (inputAware != null) inputClauses = inputAware.toArray(new Clause.InputAware[0]);
+        }
+    }
+
+    /**
+     * Ends the conversation right away because an input-aware clause triggered on the participant's input.
+     */
+    private void triggeredByInput(Clause clause) {
+        ConversationEvents.clauseTriggered(participant, clause);
+        trigger(clause);
+    }
+
+    /**
+     * Ends the conversation right away, without displaying the finishing text.
+     */
+    protected void end() {
+        Conversations.endConversation(this);
+    }
+
+    /**
+     * Called once the conversation has ended and been unregistered, for whatever reason.
+     */
+    protected void onEnd() {
+    }
+
+    protected void deactivateClauses() {
+        if (endClauses == null) return;
+        synchronized (endClauses) {
+            if (activeClauses == null) return;
+            for (Clause.Reactive clause : activeClauses)
+                clause.deactivate();
+            activeClauses = null;
+            inputClauses = null;
         }
     }
 
@@ -78,17 +266,31 @@ public class Conversation {
      * Adds a {@link Prompt} to the conversation.
      */
     public Conversation prompt(Prompt<?> prompt) {
+        if (template != null) throw new IllegalStateException("Can't add prompts to a conversation created from a template");
+        if (promptSource != null) throw new IllegalStateException("Can't add prompts to a conversation with a prompt source");
         if (this.prompts == null) this.prompts = new ArrayList<>();
 
-        prompt.setConversation(this);
-        prompt.setId(prompts.size() + 1);
         prompts.add(prompt);
         return this;
     }
 
+    /**
+     * Builds the prompts when the conversation gets to them instead of up front, e.g for long or generated
+     * questionnaires, see {@link PromptSource}. Replaces adding them through {@link #prompt(Prompt)}.
+     */
+    public Conversation prompts(PromptSource source) {
+        if (template != null) throw new IllegalStateException("Can't add prompts to a conversation created from a template");
+        if (prompts != null) throw new IllegalStateException("Can't use a prompt source in a conversation that has prompts");
+        this.promptSource = source;
+        return this;
+    }
+
     /**
      * Specifies a clause for when this conversation should end.
      * There's no limit to the amount of clauses you can add.
+     * <p>
+     * Prefer {@link Clause.Reactive} clauses, they cost nothing until they trigger. Other clauses are polled every millisecond.
+     * Combine clauses and input-based conditions through a {@link com.gigabitwize.conversations.api.clause.Condition}.
      */
     public Conversation endWhen(Clause clause) {
         if (endClauses == null) this.endClauses = new ArrayList<>();
@@ -102,7 +304,7 @@ public class Conversation {
      * @apiNote Can be null.
      */
     public Conversation finishingText(String component) {
-        this.onComplete = LegacyComponentSerializer.legacyAmpersand().deserialize(component);
+        this.onComplete = ComponentCache.legacy(component);
         return this;
     }
 
@@ -116,15 +318,42 @@ public class Conversation {
      * Result = Fish: Hello
      */
     public Conversation by(String name) {
-        this.by = LegacyComponentSerializer.legacyAmpersand().deserialize(name);
+        this.by = ComponentCache.legacy(name);
+        return this;
+    }
+
+    /**
+     * Stores this conversation's progress in the {@link ConversationJournal} and {@link ConversationStore}, so it can be
+     * rebuilt after a restart or on another server. Only answers of prompts that have a {@link Prompt#codec(AnswerCodec)} are stored.
+     *
+     * @param key The key the conversation's factory is registered with, see {@link ConversationJournal#register}
+     *            and {@link Conversations#factory}.
+     */
+    public Conversation persistent(String key) {
+        this.persistenceKey = key;
         return this;
     }
 
     /**
      * Sets what is and what isn't visible through chat during the conversation.
+     *
+     * @apiNote Only applied on Bukkit, the Fabric module doesn't hide other players' chat.
      */
     public Conversation chatVisbility(ChatVisibility visibility) {
         this.chatVisibility = visibility;
+        Conversations.visibilityChanged(this);
+        return this;
+    }
+
+    /**
+     * Limits how fast the participant's input is handled, see {@link RateLimit}.
+     * A prompt's own {@link Prompt#rateLimit(RateLimit)} takes precedence while it's displayed.
+     *
+     * @apiNote Can be null, input isn't limited by default.
+     */
+    public Conversation rateLimit(RateLimit limit) {
+        this.rateLimit = limit;
+        if (currentPrompt == null || currentPrompt.getRateLimit() == null) this.activeRateLimit = limit;
         return this;
     }
 
@@ -136,9 +365,43 @@ public class Conversation {
         return this;
     }
 
+    /**
+     * Whether the messages sent while a single input or clause trigger is handled, e.g the echo, fail text,
+     * the next prompt and the finishing text, should be sent as a single message with a line per message.
+     * This saves a chat packet per message on busy servers. Defaults to false.
+     * <p>
+     * Only messages sent to the audience handed to fetches etc. are joined, messages sent to the player some other way
+     * arrive before them. Should be set before the conversation runs.
+     */
+    public Conversation bufferOutput(boolean flag) {
+        if (flag == (output != null)) return this;
+        if (flag) {
+            this.output = new BufferedAudience(audience);
+            this.audience = output;
+        } else {
+            this.audience = output.audience();
+            this.output = null;
+        }
+        mailbox.output(output);
+        return this;
+    }
+
     public boolean inConversation(UUID uuid) {
-        Audience loneAudience = audience.filterAudience(input -> input.get(Identity.UUID).map(value -> value.equals(uuid)).orElse(false));
-        return loneAudience.pointers().get(Identity.UUID).isPresent();
+        return participant.equals(uuid);
+    }
+
+    public UUID getParticipant() {
+        return participant;
+    }
+
+    /**
+     * Returns the converted answer that was given to the prompt with the given id, e.g 1 for the first prompt.
+     *
+     * @apiNote Null if the prompt hasn't been answered (yet).
+     */
+    @SuppressWarnings("unchecked")
+    public <A> @Nullable A getAnswer(int promptId) {
+        return answers == null ? null : (A) answers.get(promptId);
     }
 
     public boolean isFinished() {
@@ -153,10 +416,25 @@ public class Conversation {
         return echo;
     }
 
+    /**
+     * Whether output is buffered, see {@link #bufferOutput(boolean)}. If so, the conversation echoes the input itself,
+     * so the echo is joined with the rest of the output, and a {@link ConversationsForwarder} shouldn't.
+     */
+    public boolean buffersOutput() {
+        return output != null;
+    }
+
     public ChatVisibility getChatVisibility() {
         return chatVisibility;
     }
 
+    /**
+     * Returns the mailbox all input and clause triggers of this conversation are processed through.
+     */
+    public ConversationMailbox getMailbox() {
+        return mailbox;
+    }
+
     //** INTERNAL **//
     protected @Nullable Component getBy() {
         return by;
@@ -166,40 +444,436 @@ public class Conversation {
         return audience;
     }
 
+    /**
+     * Posts the input to the mailbox if the active {@link RateLimit} allows it, called by the {@link ConversationsForwarder}
+     * on whatever thread the input comes in on. Input over the limit is dropped or coalesced right away.
+     */
+    void offerInput(String input) {
+        lastActive = System.nanoTime();
+        RateLimit limit = activeRateLimit;
+        if (limit == null) {
+            postInput(input);
+            return;
+        }
+        // Once a line is held back, newer lines replace it rather than overtaking it
+        if (limit.coalesces() && coalescedInput != null) {
+            coalesce(limit, input);
+            return;
+        }
+        if (!admitInput(limit)) {
+            if (limit.coalesces()) coalesce(limit, input);
+            else Conversations.metrics().inputDropped();
+            return;
+        }
+        postInput(input);
+    }
+
+    private void postInput(String input) {
+        InputEvent event = ConversationEvents.inputReceived(input);
+        if (event == null) mailbox.post(() -> receiveInput(input));
+        else mailbox.post(() -> handleRecordedInput(input, event));
+    }
+
+    private void handleRecordedInput(String input, InputEvent event) {
+        ConversationEvents.handlingInput(event, participant, currentPromptId, currentAttempt + 1);
+        try {
+            receiveInput(input);
+        } finally {
+            ConversationEvents.inputHandled(event);
+        }
+    }
+
+    private boolean admitInput(RateLimit limit) {
+        long now = System.nanoTime(), dueAt, admitted;
+        do {
+            dueAt = inputDueAt;
+            admitted = limit.admit(dueAt, now);
+            if (admitted == RateLimit.REJECTED) return false;
+        } while (!INPUT_DUE_AT.compareAndSet(this, dueAt, admitted));
+        return true;
+    }
+
+    private void coalesce(RateLimit limit, String input) {
+        if (COALESCED_INPUT.getAndSet(this, input) != null) {
+            Conversations.metrics().inputDropped();
+            return;
+        }
+        Conversations.schedule(this::releaseCoalescedInput, limit.delay(inputDueAt, System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Hands the held back line to the mailbox once the limit allows it.
+     */
+    private void releaseCoalescedInput() {
+        RateLimit limit = activeRateLimit;
+        if (finished) {
+            COALESCED_INPUT.set(this, null);
+            return;
+        }
+        if (limit != null && !admitInput(limit)) {
+            Conversations.schedule(this::releaseCoalescedInput, limit.delay(inputDueAt, System.nanoTime()), TimeUnit.NANOSECONDS);
+            return;
+        }
+        String input = COALESCED_INPUT.getAndSet(this, null);
+        if (input != null) postInput(input);
+    }
+
+    /**
+     * Shows the input to the input-aware clauses first, it's only handled if none of them ended the conversation.
+     */
+    private void receiveInput(String input) {
+        Clause.InputAware[] clauses = inputClauses;
+        if (clauses != null && !finished) {
+            for (Clause.InputAware clause : clauses) {
+                if (!clause.input(input)) continue;
+                triggeredByInput(clause);
+                return;
+            }
+        }
+        handleInput(input);
+    }
+
     protected void handleInput(String input) {
+        // The conversation might have ended while this input was queued
+        if (finished || currentPrompt == null) return;
+        if (echo && output != null) audience.sendMessage(LegacyComponentSerializer.legacySection().deserialize(input));
+        if (validating) {
+            if (!currentPrompt.queuesWhilePending()) return;
+            if (queuedInput == null) queuedInput = new ArrayDeque<>();
+            if (queuedInput.size() < MAX_QUEUED_INPUT) {
+                queuedInput.add(input);
+                ConversationEvents.inputOutcome(InputEvent.QUEUED);
+            }
+            return;
+        }
         String clean = StringValidator.clean(input);
 
-        if (!currentPrompt.shouldHandle()) {
+        if (!currentPrompt.shouldHandle(currentAttempt)) {
+            endReason = ConversationEndEvent.OUT_OF_ATTEMPTS;
+            ConversationEvents.inputOutcome(InputEvent.OUT_OF_ATTEMPTS);
             Conversations.endConversation(this);
+            Conversations.metrics().attemptsExhausted();
             if (currentPrompt.getAttemptsOverText() != null)
                 audience.sendMessage(currentPrompt.getAttemptsOverText());
             return;
         }
-        currentPrompt.handleInput(clean);
+        inputAccepted = false;
+        if (!Conversations.metricsEnabled()) {
+            currentPrompt.handleInput(this, clean);
+        } else {
+            long start = System.nanoTime();
+            currentPrompt.handleInput(this, clean);
+            Conversations.metrics().recordInputHandling(System.nanoTime() - start);
+        }
+        // Async validation reports its verdict once it's in, see Prompt#validated
+        if (!validating && !inputAccepted) rejected();
+    }
+
+    /**
+     * Called when the current prompt rejected the participant's input, lets the input-aware clauses count it.
+     */
+    void rejected() {
+        Clause.InputAware[] clauses = inputClauses;
+        if (clauses == null || finished) return;
+        for (Clause.InputAware clause : clauses) {
+            if (!clause.rejected()) continue;
+            triggeredByInput(clause);
+            return;
+        }
+    }
+
+    /**
+     * Registers and starts the conversation on the calling thread, skipping its mailbox, e.g to measure it in a benchmark.
+     */
+    @ApiStatus.Internal
+    public void startDirectly() {
+        if (!Conversations.isRegistered(this) && !Conversations.registerConversation(this)) return;
+        start();
+    }
+
+    /**
+     * Handles the input on the calling thread, skipping the mailbox and the {@link RateLimit}.
+     */
+    @ApiStatus.Internal
+    public void handleInputDirectly(String input) {
+        handleInput(input);
+    }
+
+    /**
+     * Ends the conversation on the calling thread, without a finishing text.
+     */
+    @ApiStatus.Internal
+    public void endDirectly() {
+        end();
+    }
+
+    /**
+     * Restores the progress read from the {@link ConversationJournal} or {@link ConversationStore}, before the conversation runs.
+     */
+    @ApiStatus.Internal
+    public void restore(long journalId, int promptId, int attempt, Map<Integer, byte[]> storedAnswers) {
+        this.journalId = journalId;
+        this.resumePromptId = promptId;
+        this.resumeAttempt = attempt;
+        for (Map.Entry<Integer, byte[]> answer : storedAnswers.entrySet()) {
+            Prompt<?> prompt = getPrompt(answer.getKey());
+            if (prompt != null && prompt.getCodec() != null)
+                restoreAnswer(answer.getKey(), prompt, answer.getValue());
+        }
+    }
+
+    private <A> void restoreAnswer(int promptId, Prompt<A> prompt, byte[] answer) {
+        if (answers == null) answers = new HashMap<>();
+        answers.put(promptId, ConversationJournal.decode(answer, prompt.getCodec()));
+        if (promptSource != null) keepCodec(promptId, prompt.getCodec());
+    }
+
+    private void keepCodec(int promptId, AnswerCodec<?> codec) {
+        if (answerCodecs == null) answerCodecs = new HashMap<>();
+        answerCodecs.put(promptId, codec);
+    }
+
+    /**
+     * Ends the conversation on behalf of the registry, e.g because the participant quit, called on the conversation's mailbox.
+     */
+    void evict(String reason) {
+        if (finished) return;
+        endReason = reason;
+        Conversations.endConversation(this);
+        Conversations.metrics().conversationEvicted();
+    }
+
+    /**
+     * Ends the conversation because the participant left. A journaled conversation is kept in the
+     * {@link ConversationJournal} instead, and rebuilt when they join again, like after a restart.
+     */
+    void quit() {
+        if (finished) return;
+        if (journalId == 0L || Conversations.journal() == null) {
+            evict(ConversationEndEvent.QUIT);
+            return;
+        }
+        parked = true;
+        endReason = ConversationEndEvent.QUIT;
+        Conversations.endConversation(this);
+    }
+
+    void reapIfIdle(long timeoutNanos) {
+        if (System.nanoTime() - lastActive < timeoutNanos) return;
+        evict(ConversationEndEvent.IDLE);
+    }
+
+    long lastActive() {
+        return lastActive;
+    }
+
+    /**
+     * @return False if the conversation already had its registration order.
+     */
+    boolean registered(long registration) {
+        return REGISTRATION.compareAndSet(this, 0L, registration);
+    }
+
+    long registration() {
+        return registration;
+    }
+
+    boolean isPersistent() {
+        return persistenceKey != null;
+    }
+
+    int promptId() {
+        return currentPromptId;
+    }
+
+    int attempt() {
+        return currentAttempt;
+    }
+
+    /**
+     * Called by the current prompt for every input it receives.
+     *
+     * @return The attempt this input is.
+     */
+    int attempted() {
+        currentAttempt++;
+        ConversationJournal journal = Conversations.journal();
+        if (journalId != 0L && journal != null) journal.attempted(journalId, currentPromptId, currentAttempt);
+        sessionChanged();
+        return currentAttempt;
+    }
+
+    /**
+     * Called by the current prompt when it starts validating input asynchronously, further input is held until it's done.
+     *
+     * @return The token the result has to be handed back with, see {@link #validated(int)}.
+     */
+    int awaitValidation() {
+        ConversationEvents.inputOutcome(InputEvent.PENDING);
+        validating = true;
+        return ++validationToken;
+    }
+
+    /**
+     * Called by the current prompt when an async validation is done.
+     *
+     * @return False if the result is stale and should be dropped, e.g because the conversation ended in the meantime.
+     */
+    boolean validated(int token) {
+        if (finished || !validating || token != validationToken) return false;
+        validating = false;
+        return true;
+    }
+
+    /**
+     * Handles the next input that was queued while validating, if the prompt is still waiting for an answer.
+     */
+    void handleQueuedInput() {
+        if (queuedInput == null || queuedInput.isEmpty() || validating) return;
+        handleInput(queuedInput.poll());
+    }
+
+    /**
+     * Called by the current prompt when it has been answered, moves on to the next prompt.
+     */
+    <A> void answered(Prompt<A> prompt, A answer) {
+        inputAccepted = true;
+        ConversationEvents.inputOutcome(InputEvent.ACCEPTED);
+        if (answers == null) answers = new HashMap<>();
+        answers.put(currentPromptId, answer);
+        ConversationJournal journal = Conversations.journal();
+        if (journalId != 0L && journal != null && prompt.getCodec() != null)
+            journal.answered(journalId, currentPromptId, answer, prompt.getCodec());
+        if (promptSource != null && persistenceKey != null && prompt.getCodec() != null)
+            keepCodec(currentPromptId, prompt.getCodec());
+        if (promptDisplayedAt != 0L && Conversations.metricsEnabled())
+            Conversations.metrics().recordAnswerLatency(System.nanoTime() - promptDisplayedAt);
+        next();
+    }
+
+    /**
+     * Called once by {@link Conversations} when the conversation has ended.
+     */
+    void ended() {
+        ConversationEvents.ended(participant, currentPromptId, currentAttempt,
+                endReason != null ? endReason : ConversationEndEvent.ENDED, startedAt);
+        ConversationJournal journal = Conversations.journal();
+        if (journalId != 0L && journal != null) {
+            if (parked) journal.parked(journalId, participant);
+            else journal.ended(journalId);
+        }
+        ConversationStore store = Conversations.store();
+        if (sessionSaved && !checkpointed && store != null) store.delete(participant);
+    }
+
+    /**
+     * Restores the session loaded from the {@link ConversationStore}, before the conversation runs.
+     */
+    void resumed(ConversationSession session) {
+        restore(0L, session.promptId(), session.attempt(), session.answers());
+        sessionSaved = true;
+    }
+
+    private void sessionChanged() {
+        if (persistenceKey == null || sessionDirty || Conversations.store() == null) return;
+        sessionDirty = true;
+        Conversations.sessionChanged(this);
+    }
+
+    /**
+     * Saves the current session to the store, called on the conversation's mailbox by the write-behind flush.
+     */
+    void saveSession() {
+        sessionDirty = false;
+        ConversationStore store = Conversations.store();
+        if (finished || store == null) return;
+        sessionSaved = true;
+        store.save(participant, session().encode()).exceptionally(error -> {
+            error.printStackTrace();
+            return null;
+        });
+    }
+
+    /**
+     * Saves the current session to the store and ends the conversation here, without deleting the session.
+     */
+    void checkpoint(CompletableFuture<Void> saved) {
+        ConversationStore store = Conversations.store();
+        if (finished) {
+            saved.complete(null);
+            return;
+        }
+        if (persistenceKey == null || store == null) {
+            Conversations.endConversation(this);
+            saved.complete(null);
+            return;
+        }
+        byte[] session = session().encode();
+        checkpointed = true;
+        endReason = ConversationEndEvent.CHECKPOINTED;
+        Conversations.endConversation(this);
+        store.save(participant, session).whenComplete((ignored, error) -> {
+            if (error != null) saved.completeExceptionally(error);
+            else saved.complete(null);
+        });
+    }
+
+    private ConversationSession session() {
+        LinkedHashMap<Integer, byte[]> encoded = new LinkedHashMap<>();
+        if (answers != null) {
+            for (Map.Entry<Integer, Object> answer : answers.entrySet()) {
+                AnswerCodec<?> codec = codecOf(answer.getKey());
+                if (codec != null) encoded.put(answer.getKey(), encodeAnswer(codec, answer.getValue()));
+            }
+        }
+        return new ConversationSession(persistenceKey, participant, currentPromptId, currentAttempt, encoded);
+    }
+
+    private @Nullable AnswerCodec<?> codecOf(int promptId) {
+        if (promptSource != null) return answerCodecs == null ? null : answerCodecs.get(promptId);
+        Prompt<?> prompt = getPrompt(promptId);
+        return prompt == null ? null : prompt.getCodec();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <A> byte[] encodeAnswer(AnswerCodec<A> codec, Object answer) {
+        return codec.encode((A) answer);
     }
 
     protected void next() {
-        Prompt<?> next = nextPrompt();
-        if (next == null) {
+        int next = nextPromptId();
+        Prompt<?> prompt = next != 0 ? getPrompt(next) : null;
+        if (prompt == null) {
+            endReason = ConversationEndEvent.COMPLETED;
             Conversations.endConversation(this);
             finished = true;
-            if (onComplete != null) {
-                if (by != null)
-                    audience.sendMessage(by.append(Component.text(" ").append(onComplete)));
-                else audience.sendMessage(onComplete);
-            }
+            Conversations.metrics().conversationCompleted();
+            if (onComplete != null)
+                audience.sendMessage(by != null ? by.append(Constants.NAME_SEPARATOR).append(onComplete) : onComplete);
             return;
         }
-        this.currentPrompt = next;
-        this.currentPrompt.display();
+        show(next, prompt);
     }
 
+    /**
+     * Returns the prompt with the given id, prompts are numbered from 1 in the order they were added.
+     * A {@link PromptSource} builds the prompt, unless it's the current one.
+     */
+    private @Nullable Prompt<?> getPrompt(int id) {
+        if (template != null) return template.getPrompt(id);
+        if (promptSource != null) return id == currentPromptId && currentPrompt != null ? currentPrompt : promptSource.prompt(this, id);
+        if (prompts == null || id < 1 || id > prompts.size()) return null;
+        return prompts.get(id - 1);
+    }
 
-    private Prompt<?> nextPrompt() {
-        int id = currentPrompt == null ? 0 : currentPrompt.getId();
-        for (Prompt<?> prompt : prompts) {
-            if (prompt.getId() == id + 1) return prompt;
-        }
-        return null;
+    /**
+     * Returns the id of the prompt that comes after the current one, or 0 if the conversation is over.
+     */
+    private int nextPromptId() {
+        if (template != null)
+            return currentPromptId == 0 ? template.getFirstId() : template.next(currentPromptId, getAnswer(currentPromptId));
+        if (promptSource != null) return currentPromptId + 1;
+        if (prompts == null || currentPromptId >= prompts.size()) return 0;
+        return currentPromptId + 1;
     }
 }
@@ -0,0 +1,119 @@
+package com.gigabitwize.conversations.api;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Serializes everything that happens to a single {@link Conversation}: input, clause triggers
+ * and the conversation starting. Tasks can be posted from any thread and are run one after
+ * another on the conversation's stripe, so a conversation's state is never touched by two
+ * threads at once while different conversations still run in parallel.
+ */
+public final class ConversationMailbox {
+
+    /**
+     * Max. tasks drained in one go before the stripe is handed to the next mailbox.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Executor stripe;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    @Nullable
+    private volatile BufferedAudience output;
+
+    ConversationMailbox(Executor stripe) {
+        this.stripe = stripe;
+    }
+
+    /**
+     * Sets the buffer that collects the messages sent during each task, see {@link Conversation#bufferOutput(boolean)}.
+     */
+    void output(@Nullable BufferedAudience buffer) {
+        this.output = buffer;
+    }
+
+    /**
+     * Queues the task, and schedules a drain if the mailbox was idle.
+     */
+    public void post(Runnable task) {
+        queue.offer(task);
+        int queued = depth.incrementAndGet();
+        maxDepth.accumulateAndGet(queued, Math::max);
+        if (queued == 1) stripe.execute(this::drain);
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Runnable task = queue.poll();
+            BufferedAudience buffer = output;
+            if (buffer != null) buffer.open();
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // An Error too, the depth has to go down or the mailbox never drains again
+                e.printStackTrace();
+            } finally {
+                if (buffer != null) buffer.flush();
+            }
+            long took = System.nanoTime() - start;
+            if (Conversations.metricsEnabled()) Conversations.metrics().recordProcessing(took);
+            processed.increment();
+            processingNanos.add(took);
+            maxProcessingNanos.accumulateAndGet(took, Math::max);
+
+            if (depth.decrementAndGet() == 0) return;
+        }
+        // Still busy, give the other mailboxes on this stripe a turn
+        stripe.execute(this::drain);
+    }
+
+    /**
+     * Returns the amount of tasks waiting to be processed.
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * Returns the highest queue depth this mailbox has seen.
+     */
+    public int getMaxQueueDepth() {
+        return maxDepth.get();
+    }
+
+    /**
+     * Returns the amount of tasks processed so far.
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the total time spent processing tasks, in nanoseconds.
+     */
+    public long getProcessingNanos() {
+        return processingNanos.sum();
+    }
+
+    /**
+     * Returns the longest time a single task took, in nanoseconds.
+     */
+    public long getMaxProcessingNanos() {
+        return maxProcessingNanos.get();
+    }
+}
@@ -0,0 +1,263 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.util.ComponentCache;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * An immutable, compiled conversation which can be shared by any amount of players. The prompts form a
+ * directed graph, every running {@link Conversation} created from the template only holds a cursor into it:
+ * the current prompt, the attempts used and the answers given so far.
+ * <p>
+ * By default prompts follow each other in the order they were added, use {@link Builder#branch(String, Transition)}
+ * to pick the next prompt based on the answer.
+ * <p>
+ * e.g;
+ * ConversationTemplate tutorial = ConversationTemplate.builder()
+ * .by("&bGuide:")
+ * .prompt("age", new Prompt<Integer>(...))
+ * .prompt("adult", new Prompt<String>(...))
+ * .prompt("minor", new Prompt<String>(...))
+ * .branch("age", (Integer age) -> age >= 18 ? "adult" : "minor")
+ * .then("adult", null)
+ * .build();
+ * <p>
+ * tutorial.create(player.getUniqueId()).endWhen(new TimeClause(...)).run();
+ */
+public final class ConversationTemplate {
+
+    // Indexed by prompt id, the first slot is unused so 0 can mean "the end"
+    private final Prompt<?>[] prompts;
+    private final int[] next;
+    private final Transition<?>[] branches;
+    private final HashMap<String, Integer> ids;
+
+    @Nullable
+    private final Component by, onComplete;
+    private final ChatVisibility chatVisibility;
+    private final boolean echo, bufferOutput;
+
+    private ConversationTemplate(Builder builder) {
+        int size = builder.prompts.size();
+        this.prompts = new Prompt<?>[size + 1];
+        this.next = new int[size + 1];
+        this.branches = new Transition<?>[size + 1];
+        this.ids = new HashMap<>(builder.ids);
+        for (int id = 1; id <= size; id++) {
+            prompts[id] = builder.prompts.get(id - 1);
+            next[id] = builder.next.get(id - 1);
+            branches[id] = builder.branches.get(id - 1);
+        }
+        this.by = builder.by;
+        this.onComplete = builder.onComplete;
+        this.chatVisibility = builder.chatVisibility;
+        this.echo = builder.echo;
+        this.bufferOutput = builder.bufferOutput;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a conversation for the given participant that walks through this template.
+     * The conversation still has to be ran, clauses can be added to it first.
+     */
+    public Conversation create(UUID participant) {
+        return new Conversation(participant, this);
+    }
+
+    /**
+     * Creates and runs a conversation for the given participant.
+     */
+    public Conversation start(UUID participant) {
+        Conversation conversation = create(participant);
+        conversation.run();
+        return conversation;
+    }
+
+    /**
+     * Returns the id of the prompt with the given name, which is the id {@link Conversation#getAnswer(int)} takes.
+     *
+     * @throws IllegalArgumentException If the template has no prompt with that name.
+     */
+    public int getId(String name) {
+        Integer id = ids.get(name);
+        if (id == null) throw new IllegalArgumentException("Template has no prompt named " + name);
+        return id;
+    }
+
+    public int size() {
+        return prompts.length - 1;
+    }
+
+    //** INTERNAL **//
+    int getFirstId() {
+        return prompts.length > 1 ? 1 : 0;
+    }
+
+    @Nullable
+    Prompt<?> getPrompt(int id) {
+        return id < 1 || id >= prompts.length ? null : prompts[id];
+    }
+
+    @SuppressWarnings("unchecked")
+    int next(int id, Object answer) {
+        Transition<Object> branch = (Transition<Object>) branches[id];
+        if (branch == null) return next[id];
+
+        String name = branch.next(answer);
+        return name == null ? 0 : getId(name);
+    }
+
+    @Nullable Component getBy() {
+        return by;
+    }
+
+    @Nullable Component getFinishingText() {
+        return onComplete;
+    }
+
+    ChatVisibility getChatVisibility() {
+        return chatVisibility;
+    }
+
+    boolean echoOn() {
+        return echo;
+    }
+
+    boolean buffersOutput() {
+        return bufferOutput;
+    }
+
+    /**
+     * Picks the prompt that follows, based on the converted answer.
+     */
+    @FunctionalInterface
+    public interface Transition<A> {
+
+        /**
+         * @return The name of the next prompt, or null to end the conversation.
+         */
+        @Nullable String next(A answer);
+    }
+
+    public static final class Builder {
+
+        private final ArrayList<Prompt<?>> prompts = new ArrayList<>();
+        private final ArrayList<Integer> next = new ArrayList<>();
+        private final ArrayList<Transition<?>> branches = new ArrayList<>();
+        private final HashMap<String, Integer> ids = new HashMap<>();
+        private final HashMap<Integer, String> jumps = new HashMap<>();
+
+        private Component by, onComplete;
+        private ChatVisibility chatVisibility = ChatVisibility.ALL;
+        private boolean echo, bufferOutput;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a prompt, which by default is followed by the next prompt that's added.
+         */
+        public Builder prompt(@NotNull String name, @NotNull Prompt<?> prompt) {
+            if (ids.containsKey(name)) throw new IllegalArgumentException("Duplicate prompt name " + name);
+            prompts.add(prompt);
+            next.add(0);
+            branches.add(null);
+            ids.put(name, prompts.size());
+            return this;
+        }
+
+        /**
+         * Adds a prompt, named after its position e.g "1" for the first prompt.
+         */
+        public Builder prompt(@NotNull Prompt<?> prompt) {
+            return prompt(String.valueOf(prompts.size() + 1), prompt);
+        }
+
+        /**
+         * Makes the given prompt always be followed by another one.
+         *
+         * @param to The name of the next prompt, or null to end the conversation after this prompt.
+         */
+        public Builder then(@NotNull String from, @Nullable String to) {
+            jumps.put(idOf(from), to);
+            return this;
+        }
+
+        /**
+         * Picks the prompt that follows the given one based on its answer.
+         */
+        public <A> Builder branch(@NotNull String from, @NotNull Transition<A> transition) {
+            branches.set(idOf(from) - 1, transition);
+            return this;
+        }
+
+        /**
+         * @see Conversation#by(String)
+         */
+        public Builder by(@NotNull String name) {
+            this.by = ComponentCache.legacy(name);
+            return this;
+        }
+
+        /**
+         * @see Conversation#finishingText(String)
+         */
+        public Builder finishingText(@NotNull String component) {
+            this.onComplete = ComponentCache.legacy(component);
+            return this;
+        }
+
+        /**
+         * @see Conversation#chatVisbility(ChatVisibility)
+         */
+        public Builder chatVisibility(@NotNull ChatVisibility visibility) {
+            this.chatVisibility = visibility;
+            return this;
+        }
+
+        /**
+         * @see Conversation#echo(boolean)
+         */
+        public Builder echo(boolean flag) {
+            this.echo = flag;
+            return this;
+        }
+
+        /**
+         * @see Conversation#bufferOutput(boolean)
+         */
+        public Builder bufferOutput(boolean flag) {
+            this.bufferOutput = flag;
+            return this;
+        }
+
+        /**
+         * Compiles the template, resolving every transition into a prompt id.
+         */
+        public ConversationTemplate build() {
+            for (int id = 1; id <= prompts.size(); id++) {
+                if (jumps.containsKey(id)) {
+                    String to = jumps.get(id);
+                    next.set(id - 1, to == null ? 0 : idOf(to));
+                } else next.set(id - 1, id < prompts.size() ? id + 1 : 0);
+            }
+            return new ConversationTemplate(this);
+        }
+
+        private int idOf(String name) {
+            Integer id = ids.get(name);
+            if (id == null) throw new IllegalArgumentException("No prompt named " + name);
+            return id;
+        }
+    }
+}
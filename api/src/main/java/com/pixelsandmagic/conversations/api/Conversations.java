@@ -1,81 +1,606 @@
 package com.gigabitwize.conversations.api;
 
+import com.gigabitwize.conversations.api.clause.Clause;
+import com.gigabitwize.conversations.api.jfr.ConversationEndEvent;
+import com.gigabitwize.conversations.api.metrics.ConversationsMetrics;
+import com.gigabitwize.conversations.api.persistence.ConversationJournal;
+import com.gigabitwize.conversations.api.persistence.ConversationSession;
+import com.gigabitwize.conversations.api.persistence.ConversationStore;
+import com.gigabitwize.conversations.api.util.TickExecutor;
 import net.kyori.adventure.platform.AudienceProvider;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Created by Giovanni on 2/9/2023
  */
 public final class Conversations {
 
-    private static CopyOnWriteArrayList<Conversation> conversations;
+    private static Set<Conversation> conversations;
+    private static ConcurrentHashMap<UUID, Conversation> conversationsByParticipant;
+    // Older conversations of a participant that were replaced in the index by a newer one, most recent last.
+    // Only touched inside a compute of the participant's conversationsByParticipant entry
+    private static ConcurrentHashMap<UUID, ArrayDeque<Conversation>> previousConversations;
+    private static ConcurrentHashMap<UUID, GroupConversation<?>> groupsByParticipant;
+    private static Set<UUID> mutedParticipants;
     private static AudienceProvider audienceProvider;
-    private static ScheduledExecutorService conversationsExecutor;
+    private static ScheduledThreadPoolExecutor conversationsExecutor;
+    @Nullable
+    private static ExecutorService[] mailboxStripes;
+    @Nullable
+    private static Executor mailboxExecutor;
+    private static volatile ConversationsMetrics metrics = ConversationsMetrics.NOOP;
+    private static volatile AsyncLimiter asyncLimiter = new AsyncLimiter(64);
+    @Nullable
+    private static volatile ConversationJournal journal;
+    @Nullable
+    private static volatile ConversationStore store;
+    private static final long STORE_FLUSH_MILLIS = 1000L;
+    private static final ConcurrentHashMap<String, Function<UUID, Conversation>> factories = new ConcurrentHashMap<>();
+    private static Set<Conversation> unsavedSessions;
+    @Nullable
+    private static ScheduledFuture<?> storeFlush;
+    // Admission control, see #maxConversations
+    private static final AtomicInteger admitted = new AtomicInteger();
+    private static final AtomicLong registrations = new AtomicLong();
+    private static final ConcurrentSkipListMap<Long, Conversation> registrationOrder = new ConcurrentSkipListMap<>();
+    private static volatile int maxConversations;
+    private static volatile OverflowPolicy overflowPolicy = OverflowPolicy.REJECT;
+    // Idle reaper, see #idleTimeout
+    private static final long MIN_REAP_PERIOD_MILLIS = 100L;
+    private static volatile long idleTimeoutNanos;
+    @Nullable
+    private static ScheduledFuture<?> idleReaper;
     private static boolean initialized;
 
     /**
      * Initalizes the Conversations API.
      */
     public static void init(AudienceProvider provider) {
+        init(provider, (Executor) null);
+    }
+
+    /**
+     * Initalizes the Conversations API, and runs every {@link ConversationMailbox} on the given executor instead of
+     * the API's own threads, e.g a server's main thread so fetches can touch the game without locks.
+     * A mailbox is still only drained by one task at a time.
+     */
+    public static void init(AudienceProvider provider, @Nullable Executor executor) {
         if (initialized) throw new IllegalStateException("Conversations API already initialized");
 
-        conversations = new CopyOnWriteArrayList<>();
+        conversations = ConcurrentHashMap.newKeySet();
+        conversationsByParticipant = new ConcurrentHashMap<>();
+        previousConversations = new ConcurrentHashMap<>();
+        groupsByParticipant = new ConcurrentHashMap<>();
+        mutedParticipants = ConcurrentHashMap.newKeySet();
+        unsavedSessions = ConcurrentHashMap.newKeySet();
         audienceProvider = provider;
-        conversationsExecutor = Executors.newSingleThreadScheduledExecutor();
-        conversationsExecutor.scheduleAtFixedRate(() -> {
-            try {
-                conversations.forEach(Conversation::tick);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, 0L, 1L, TimeUnit.MILLISECONDS);
+        // The executor's delay queue is ordered by deadline, so its thread sleeps until the next
+        // timer is due instead of waking up on a fixed rate.
+        conversationsExecutor = new ScheduledThreadPoolExecutor(1);
+        conversationsExecutor.setRemoveOnCancelPolicy(true);
+        conversationsExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        mailboxExecutor = executor;
         initialized = true;
+        if (executor != null) return;
+
+        // Every participant is pinned to one single threaded stripe, see ConversationMailbox
+        mailboxStripes = new ExecutorService[Runtime.getRuntime().availableProcessors()];
+        for (int i = 0; i < mailboxStripes.length; i++) {
+            mailboxStripes[i] = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "Conversations-Mailbox");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Initalizes the Conversations API, the conversations that were still in progress when the journal was
+     * last closed are rebuilt when their participant joins, see {@link ConversationJournal} and {@link #resume(UUID)}.
+     */
+    public static void init(AudienceProvider provider, ConversationJournal conversationJournal) {
+        init(provider);
+        journal = conversationJournal;
+        conversationJournal.recover();
     }
 
     /**
      * Cleans up the Conversations API.
+     * Persistent conversations that are still running are kept in the journal, and rebuilt on the next init.
+     * <p>
+     * Mailboxes on a {@link TickExecutor} are run one last time to save every persistent conversation, on the calling
+     * thread, so call this from the thread that ticks the executor, before it stops ticking.
      */
     public static void cleanUp() {
         if (!initialized) throw new IllegalStateException("Conversations API not initialized");
+        // Queued before the shutdown, so the mailboxes still save the latest state of every persistent conversation
+        if (store != null) flushSessions();
+        // A TickExecutor only runs when it's ticked, the saves must have run before the store closes
+        if (mailboxExecutor instanceof TickExecutor tickExecutor) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5000L);
+            while (tickExecutor.getPending() > 0 && System.nanoTime() < deadline)
+                tickExecutor.runUntil(deadline);
+        }
+        // Mailboxes running on an executor of the caller's are left to the caller
+        ExecutorService[] stripes = mailboxStripes != null ? mailboxStripes : new ExecutorService[0];
+        conversationsExecutor.shutdown();
+        for (ExecutorService stripe : stripes)
+            stripe.shutdown();
         try {
             if (!conversationsExecutor.awaitTermination(5000, TimeUnit.MILLISECONDS))
                 conversationsExecutor.shutdownNow();
+            for (ExecutorService stripe : stripes) {
+                if (!stripe.awaitTermination(5000, TimeUnit.MILLISECONDS))
+                    stripe.shutdownNow();
+            }
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        ConversationJournal closing = journal;
+        if (closing != null) {
+            // Tasks that still run see no journal, rather than one that's closing
+            journal = null;
+            closing.close();
+        }
+        if (store != null) {
+            store.close();
+            store = null;
+            storeFlush = null;
+        }
+        idleReaper = null;
+        idleTimeoutNanos = 0L;
         conversations.clear();
+        admitted.set(0);
+        registrationOrder.clear();
+        unsavedSessions.clear();
+        conversationsByParticipant.clear();
+        previousConversations.clear();
+        groupsByParticipant.clear();
+        mutedParticipants.clear();
+        mailboxStripes = null;
+        mailboxExecutor = null;
         initialized = false;
     }
 
     static void endConversation(Conversation conversation) {
         if (conversation == null) throw new IllegalStateException("Conversations API not initialized");
-        if (!isRegistered(conversation)) return;
+        if (!conversations.remove(conversation)) return;
+        admitted.decrementAndGet();
+        if (conversation.registration() != 0L) registrationOrder.remove(conversation.registration(), conversation);
         conversation.setFinished(true);
-        conversations.remove(conversation);
+        conversation.deactivateClauses();
+        unsavedSessions.remove(conversation);
+        conversationsByParticipant.computeIfPresent(conversation.getParticipant(), (participant, current) -> {
+            ArrayDeque<Conversation> previous = previousConversations.get(participant);
+            if (current != conversation) {
+                if (previous != null && previous.remove(conversation) && previous.isEmpty())
+                    previousConversations.remove(participant);
+                return current;
+            }
+            // Input goes back to the participant's previous conversation that's still running
+            Conversation fallback = null;
+            while (previous != null && !previous.isEmpty() && fallback == null) {
+                Conversation candidate = previous.pollLast();
+                if (conversations.contains(candidate)) fallback = candidate;
+            }
+            if (previous != null && previous.isEmpty()) previousConversations.remove(participant);
+            if (fallback == null) {
+                mutedParticipants.remove(participant);
+                return null;
+            }
+            updateMuted(participant, fallback);
+            return fallback;
+        });
+        conversation.ended();
+        conversation.onEnd();
     }
 
-    static void registerConversation(Conversation conversation) {
+    /**
+     * @return False if the conversation was rejected, see {@link #maxConversations(int, OverflowPolicy)}.
+     */
+    static boolean registerConversation(Conversation conversation) {
         if (conversation == null) throw new IllegalStateException("Conversations API not initialized");
-        if (!isRegistered(conversation)) conversations.add(conversation);
+        if (!conversations.add(conversation)) return true;
+        if (!admit()) {
+            conversations.remove(conversation);
+            metrics.conversationRejected();
+            return false;
+        }
+        if (maxConversations > 0) index(conversation);
+        conversationsByParticipant.compute(conversation.getParticipant(), (participant, current) -> {
+            if (current != null && current != conversation)
+                previousConversations.computeIfAbsent(participant, key -> new ArrayDeque<>(2)).addLast(current);
+            updateMuted(participant, conversation);
+            return conversation;
+        });
+        return true;
     }
 
-    public static Optional<Conversation> getConversationOf(UUID playerId) {
+    /**
+     * Takes a slot for a new conversation. When the max. is reached the oldest conversation is evicted and its slot
+     * handed over, it ends on its own mailbox shortly after, so the amount of conversations can be over the max. for a moment.
+     */
+    private static boolean admit() {
+        int max = maxConversations;
+        if (max <= 0) {
+            admitted.incrementAndGet();
+            return true;
+        }
+        for (int current = admitted.get(); current < max; current = admitted.get())
+            if (admitted.compareAndSet(current, current + 1)) return true;
+
+        if (overflowPolicy == OverflowPolicy.REJECT) return false;
+        Map.Entry<Long, Conversation> oldest;
+        while ((oldest = registrationOrder.pollFirstEntry()) != null) {
+            // It might have ended since it was indexed
+            if (!conversations.contains(oldest.getValue())) continue;
+            evict(oldest.getValue(), ConversationEndEvent.EVICTED);
+            admitted.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives the conversation its place in the eviction order, once.
+     */
+    private static void index(Conversation conversation) {
+        long registration = registrations.incrementAndGet();
+        if (!conversation.registered(registration)) return;
+        registrationOrder.put(registration, conversation);
+        // Ended while it was being indexed, endConversation might have missed the entry
+        if (!conversations.contains(conversation)) registrationOrder.remove(registration, conversation);
+    }
+
+    private static void evict(Conversation conversation, String reason) {
+        conversation.getMailbox().post(() -> conversation.evict(reason));
+    }
+
+    /**
+     * Caps the amount of conversations that can run at once, so e.g a runaway plugin can't grow the registry without limit.
+     * Conversations that are already running when this is set count towards the cap, and are the first to be evicted.
+     *
+     * @param max    Max. amount of conversations, 0 for no cap, which is the default.
+     * @param policy What happens to conversations that are run while the cap is reached.
+     * @apiNote Group conversations aren't capped.
+     */
+    public static void maxConversations(int max, OverflowPolicy policy) {
+        if (max < 0) throw new IllegalArgumentException("Max. conversations can't be negative");
+        overflowPolicy = policy;
+        maxConversations = max;
+        if (max == 0) return;
+        for (Conversation conversation : conversations)
+            index(conversation);
+    }
+
+    /**
+     * Ends conversations whose participant hasn't sent any input for the given time, e.g because they went AFK.
+     * Conversations are checked every quarter of the timeout, so one can run for up to 1.25x the timeout.
+     *
+     * @apiNote 0 to stop ending idle conversations, which is the default. Has to be called after {@link #init(AudienceProvider)}.
+     */
+    public static void idleTimeout(long timeout, TimeUnit unit) {
+        if (!initialized) throw new IllegalStateException("Conversations API not initialized");
+        if (idleReaper != null) {
+            idleReaper.cancel(false);
+            idleReaper = null;
+        }
+        idleTimeoutNanos = unit.toNanos(timeout);
+        if (idleTimeoutNanos <= 0L) return;
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(MIN_REAP_PERIOD_MILLIS), idleTimeoutNanos / 4L);
+        idleReaper = scheduleAtFixedRate(Conversations::reapIdle, period, TimeUnit.NANOSECONDS);
+    }
+
+    private static void reapIdle() {
+        long timeout = idleTimeoutNanos, now = System.nanoTime();
+        if (timeout <= 0L) return;
         for (Conversation conversation : conversations) {
-            if (conversation.inConversation(playerId)) return Optional.of(conversation);
+            if (now - conversation.lastActive() >= timeout)
+                conversation.getMailbox().post(() -> conversation.reapIfIdle(timeout));
         }
-        return Optional.empty();
+    }
+
+    /**
+     * Ends the participant's conversations when they leave the server, and stops waiting for their answer in a group conversation.
+     * A persistent conversation is handed to the {@link ConversationStore} instead if one is installed, see {@link #checkpoint(UUID)}.
+     * Otherwise a journaled conversation stays in the {@link ConversationJournal}, and is rebuilt when the participant joins again.
+     * Called by the platform's quit hook.
+     *
+     * @return A stage that completes once a persistent conversation has been saved.
+     */
+    public static CompletionStage<Void> quit(UUID participant) {
+        if (!initialized) return CompletableFuture.completedFuture(null);
+        GroupConversation<?> group = groupsByParticipant.get(participant);
+        if (group != null) group.memberLeft(participant);
+
+        Conversation conversation = conversationsByParticipant.get(participant);
+        if (conversation == null) return CompletableFuture.completedFuture(null);
+        // Older conversations would otherwise take over the index once the current one is gone
+        for (Conversation previous : previousConversationsOf(participant))
+            previous.getMailbox().post(previous::quit);
+        if (store != null && conversation.isPersistent()) return checkpoint(participant);
+        conversation.getMailbox().post(conversation::quit);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private static List<Conversation> previousConversationsOf(UUID participant) {
+        ArrayList<Conversation> previous = new ArrayList<>(0);
+        conversationsByParticipant.computeIfPresent(participant, (key, current) -> {
+            ArrayDeque<Conversation> deque = previousConversations.get(key);
+            if (deque != null) previous.addAll(deque);
+            return current;
+        });
+        return previous;
+    }
+
+    /**
+     * Called when a conversation's {@link ChatVisibility} changes.
+     */
+    static void visibilityChanged(Conversation conversation) {
+        if (!initialized) return;
+        conversationsByParticipant.computeIfPresent(conversation.getParticipant(), (participant, current) -> {
+            if (current == conversation) updateMuted(participant, conversation);
+            return current;
+        });
+    }
+
+    private static void updateMuted(UUID participant, Conversation conversation) {
+        if (conversation.getChatVisibility() != ChatVisibility.ALL) mutedParticipants.add(participant);
+        else mutedParticipants.remove(participant);
+    }
+
+    /**
+     * Returns the conversation the given player is currently participating in.
+     * If a player has been put in several conversations, the most recently registered one receives their input.
+     */
+    public static Optional<Conversation> getConversationOf(UUID playerId) {
+        return Optional.ofNullable(conversationsByParticipant.get(playerId));
+    }
+
+    /**
+     * Returns the group conversation the given player still has to answer.
+     * If a player is in a regular conversation as well, that one receives their input.
+     */
+    public static Optional<GroupConversation<?>> getGroupOf(UUID playerId) {
+        return Optional.ofNullable(groupsByParticipant.get(playerId));
+    }
+
+    static void registerGroup(GroupConversation<?> group) {
+        for (UUID member : group.members())
+            groupsByParticipant.put(member, group);
+    }
+
+    /**
+     * Called when a member answered, or ran out of attempts, so their chat isn't taken by the group anymore.
+     */
+    static void groupMemberDone(UUID member, GroupConversation<?> group) {
+        groupsByParticipant.remove(member, group);
+    }
+
+    static void unregisterGroup(GroupConversation<?> group) {
+        if (!initialized) return;
+        for (UUID member : group.members())
+            groupsByParticipant.remove(member, group);
+    }
+
+    /**
+     * Returns whether the given player is in a conversation that hides chat messages from them.
+     * This is kept up to date as conversations start, end or change visibility, so it's a single set lookup.
+     */
+    public static boolean isMuted(UUID playerId) {
+        return mutedParticipants.contains(playerId);
+    }
+
+    /**
+     * Returns whether any player currently has chat messages hidden, see {@link #isMuted(UUID)}.
+     */
+    public static boolean hasMutedParticipants() {
+        return !mutedParticipants.isEmpty();
     }
 
     public static boolean isRegistered(Conversation conversation) {
         return conversations.contains(conversation);
     }
 
+    /**
+     * Runs the task once after the given delay on the conversations thread.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return conversationsExecutor.schedule(guarded(task), delay, unit);
+    }
+
+    /**
+     * Runs the task repeatedly on the conversations thread, used to poll clauses that can't report themselves.
+     */
+    static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit) {
+        return conversationsExecutor.scheduleAtFixedRate(guarded(task), period, period, unit);
+    }
+
+    /**
+     * Adapts any clause into one that reports itself. {@link Clause.Reactive} clauses are returned as they are,
+     * {@link Clause.Timed} clauses get a single check at their deadline, and anything else is polled through a {@link PolledClause}.
+     */
+    @ApiStatus.Internal
+    public static Clause.Reactive reactive(Clause clause) {
+        if (clause instanceof Clause.Reactive reactiveClause) return reactiveClause;
+        if (clause instanceof Clause.Timed timedClause) return new ScheduledClause(timedClause);
+        return new PolledClause(clause);
+    }
+
+    /**
+     * Returns the mailbox stripe the given participant's conversations are processed on.
+     */
+    static Executor stripeOf(UUID participant) {
+        if (mailboxExecutor != null) return mailboxExecutor;
+        int hash = participant.hashCode();
+        hash ^= hash >>> 16;
+        return mailboxStripes[(hash & Integer.MAX_VALUE) % mailboxStripes.length];
+    }
+
+    /**
+     * Caps the amount of async converters, filters and fetches that can be in flight at once, over all conversations.
+     * Validations over the cap wait in line until one finishes, so a burst of answers can't exhaust e.g a database pool.
+     * A validation that timed out keeps its slot until its stage actually completes.
+     * <p>
+     * Defaults to 64.
+     */
+    public static void maxAsyncValidations(int maxInFlight) {
+        asyncLimiter = new AsyncLimiter(maxInFlight);
+    }
+
+    static AsyncLimiter asyncLimiter() {
+        return asyncLimiter;
+    }
+
+    private static Runnable guarded(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        };
+    }
+
+    /**
+     * Installs a sink for conversation metrics, e.g {@link com.gigabitwize.conversations.api.metrics.DefaultConversationsMetrics}.
+     *
+     * @apiNote Use {@link ConversationsMetrics#NOOP} to stop recording.
+     */
+    public static void metrics(@NotNull ConversationsMetrics sink) {
+        metrics = sink;
+    }
+
+    public static ConversationsMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns whether a metrics sink is installed, used to skip measuring durations when there isn't.
+     */
+    static boolean metricsEnabled() {
+        return metrics != ConversationsMetrics.NOOP;
+    }
+
+    static @Nullable ConversationJournal journal() {
+        return journal;
+    }
+
+    /**
+     * Registers the factory used to rebuild conversations that were started with {@link Conversation#persistent(String)},
+     * when they're resumed from the {@link ConversationStore}.
+     */
+    public static void factory(String key, Function<UUID, Conversation> factory) {
+        factories.put(key, factory);
+    }
+
+    /**
+     * Installs a store that persistent conversations are saved to, so they can be {@link #resume(UUID)}d on another server.
+     * Changes are written behind, at most once a second per conversation, so handling input never waits on the store.
+     *
+     * @apiNote Can be null, to stop saving. Has to be called after {@link #init(AudienceProvider)}.
+     */
+    public static void store(@Nullable ConversationStore conversationStore) {
+        if (!initialized) throw new IllegalStateException("Conversations API not initialized");
+        ConversationStore previous = store;
+        store = conversationStore;
+        if (previous != null) previous.close();
+        if (conversationStore != null && storeFlush == null)
+            storeFlush = scheduleAtFixedRate(Conversations::flushSessions, STORE_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        else if (conversationStore == null && storeFlush != null) {
+            storeFlush.cancel(false);
+            storeFlush = null;
+        }
+    }
+
+    static @Nullable ConversationStore store() {
+        return store;
+    }
+
+    /**
+     * Saves the participant's conversation to the store right away and ends it here, e.g when they leave this server.
+     * A conversation that isn't persistent just ends. Does nothing if no store is installed.
+     *
+     * @return A stage that completes once the session has been saved.
+     */
+    public static CompletionStage<Void> checkpoint(UUID participant) {
+        Conversation conversation = initialized && store != null ? conversationsByParticipant.get(participant) : null;
+        if (conversation == null) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> saved = new CompletableFuture<>();
+        conversation.getMailbox().post(() -> conversation.checkpoint(saved));
+        return saved;
+    }
+
+    /**
+     * Loads the participant's session from the store, and runs their conversation from where they left it,
+     * e.g when they join this server. This takes a single load from the store.
+     * Conversations in the {@link ConversationJournal} are rebuilt as well, called by the platform's join hook.
+     *
+     * @return A stage that completes with the conversation resumed from the store, or empty if there was nothing to resume.
+     */
+    public static CompletionStage<Optional<Conversation>> resume(UUID participant) {
+        ConversationJournal currentJournal = journal;
+        if (initialized && currentJournal != null) currentJournal.resume(participant);
+        ConversationStore current = store;
+        if (current == null) return CompletableFuture.completedFuture(Optional.empty());
+        return current.load(participant).thenApply(bytes -> {
+            if (bytes == null || !initialized) return Optional.empty();
+            ConversationSession session = ConversationSession.decode(bytes);
+            Function<UUID, Conversation> factory = factories.get(session.key());
+            if (factory == null) return Optional.empty();
+
+            Conversation conversation = factory.apply(participant).persistent(session.key());
+            conversation.resumed(session);
+            return conversation.run() ? Optional.of(conversation) : Optional.empty();
+        });
+    }
+
+    /**
+     * Called when a persistent conversation changed, it's saved to the store on the next flush.
+     */
+    static void sessionChanged(Conversation conversation) {
+        unsavedSessions.add(conversation);
+    }
+
+    private static void flushSessions() {
+        for (Iterator<Conversation> iterator = unsavedSessions.iterator(); iterator.hasNext(); ) {
+            Conversation conversation = iterator.next();
+            iterator.remove();
+            conversation.getMailbox().post(conversation::saveSession);
+        }
+    }
+
+    /**
+     * Returns the amount of conversations currently running.
+     */
+    public static int getActiveCount() {
+        return initialized ? conversations.size() : 0;
+    }
+
     public static AudienceProvider provider() {
         return audienceProvider;
     }
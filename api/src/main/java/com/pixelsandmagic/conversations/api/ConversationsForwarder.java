@@ -20,11 +20,23 @@ public interface ConversationsForwarder<A> {
 
     /**
      * Forwards the input to the sender's current {@link Conversation}, if existent.
+     * The input is queued on the conversation's {@link ConversationMailbox} and handled asynchronously,
+     * unless it's over the conversation's {@link RateLimit}.
      *
      * @param onSuccess Runnable that executes when the input was forwarded succesfully.
      */
     default void forwardInput(Conversation conversation, UUID sender, String input, Runnable onSuccess) {
-        conversation.handleInput(input);
+        conversation.offerInput(input);
+        onSuccess.run();
+    }
+
+    /**
+     * Forwards the input to the sender's current {@link GroupConversation}, it's handled right away on the calling thread.
+     *
+     * @param onSuccess Runnable that executes when the input was forwarded succesfully.
+     */
+    default void forwardGroupInput(GroupConversation<?> group, UUID sender, String input, Runnable onSuccess) {
+        group.handleInput(sender, input);
         onSuccess.run();
     }
 }
@@ -0,0 +1,15 @@
+package com.gigabitwize.conversations.api;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Converter} for {@link DoublePrompt}s that doesn't box, and reports invalid input through its return value instead of throwing.
+ */
+@FunctionalInterface
+public interface DoubleConverter {
+
+    /**
+     * @return The converted value, or {@link Double#NaN} if the input can't be converted.
+     */
+    double convert(String input);
+}
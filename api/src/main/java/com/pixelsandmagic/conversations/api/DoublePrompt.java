@@ -0,0 +1,84 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.util.NumberParser;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Prompt} for decimal numbers, see {@link IntPrompt}. {@link Double#NaN} marks invalid input.
+ */
+public class DoublePrompt extends Prompt<Double> {
+
+    private DoubleConverter doubleConverter = NumberParser::parseDouble;
+    private DoublePredicate doubleFilter;
+
+    public DoublePrompt(Component text) {
+        super(text);
+        codec(AnswerCodec.DOUBLE);
+    }
+
+    /**
+     * Replaces the default converter, which parses plain decimal notation, e.g 2.5.
+     *
+     * @apiNote Can't be null.
+     */
+    public DoublePrompt doubleConverter(@NotNull DoubleConverter converter) {
+        this.doubleConverter = converter;
+        return this;
+    }
+
+    /**
+     * @apiNote Can be null.
+     */
+    public DoublePrompt doubleFilter(DoublePredicate filter) {
+        this.doubleFilter = filter;
+        return this;
+    }
+
+    //** INTERNAL **//
+    @Override
+    protected void handleInput(Conversation conversation, String input) {
+        if (hasConverter()) {
+            super.handleInput(conversation, input);
+            return;
+        }
+        conversation.attempted();
+        double value = convert(input);
+        if (valid(value, conversation.getAudience())) filterAndAccept(conversation, value);
+    }
+
+    @Override
+    protected @Nullable Double evaluate(String input, Audience sender) {
+        if (hasConverter()) return super.evaluate(input, sender);
+        double value = convert(input);
+        if (!valid(value, sender)) return null;
+        return passesFilter(value, sender) ? value : null;
+    }
+
+    private double convert(String input) {
+        try {
+            return doubleConverter.convert(input);
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    private boolean valid(double value, Audience sender) {
+        if (Double.isNaN(value)) {
+            conversionFailed(sender);
+            return false;
+        }
+        if (doubleFilter != null && !doubleFilter.test(value)) {
+            filterFailed(sender);
+            return false;
+        }
+        return true;
+    }
+}
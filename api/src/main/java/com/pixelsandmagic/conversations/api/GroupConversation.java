@@ -0,0 +1,410 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.clause.Clause;
+import com.gigabitwize.conversations.api.util.ComponentCache;
+import com.gigabitwize.conversations.api.util.Constants;
+import com.gigabitwize.conversations.api.util.StringValidator;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Asks a single {@link Prompt} to many participants at once, e.g a server-wide poll or an event vote.
+ * The prompt is sent once to all members, every member only takes up a slot in an array for their attempts,
+ * and the converted answers are counted rather than stored per member. A single set of clauses governs the whole group.
+ * <p>
+ * Input is handled on the thread it comes in on, without locks. The results can be read at any time, also while
+ * the group is still running.
+ * <p>
+ * e.g;
+ * new GroupConversation<>(players, new Prompt<String>(Component.text("Next map: desert or jungle?"))
+ * .converter(String::toLowerCase)
+ * .filter(map -> map.equals("desert") || map.equals("jungle")))
+ * .endWhen(new TimeClause(30000L, Component.text("The vote has ended!")))
+ * .onEnd(vote -> ...vote.getResults()...)
+ * .run();
+ * <p>
+ * Async converters and filters aren't supported, an async fetch isn't waited for.
+ */
+public class GroupConversation<A> {
+
+    private static final int DONE = -1;
+
+    private final Prompt<A> prompt;
+    private final UUID[] members;
+    private final HashMap<UUID, Integer> memberIndex;
+    // Attempts used by each member, or DONE once they've answered or ran out of attempts
+    private final AtomicIntegerArray attempts;
+    private final AtomicInteger remaining;
+    private final Audience audience;
+
+    private final ConcurrentHashMap<A, LongAdder> tally = new ConcurrentHashMap<>();
+    private final LongAdder answered = new LongAdder();
+    @Nullable
+    private AtomicReference<Object> reduced;
+    @Nullable
+    private BiFunction<Object, A, Object> reducer;
+
+    @Nullable
+    private RateLimit rateLimit;
+    // When each member's next line is due, see RateLimit
+    @Nullable
+    private AtomicLongArray inputDueAt;
+
+    private final AtomicBoolean running = new AtomicBoolean(), finished = new AtomicBoolean();
+    private boolean echo;
+
+    @Nullable
+    private Component by, onComplete;
+
+    @Nullable
+    private ArrayList<Clause> endClauses;
+    @Nullable
+    private ArrayList<Clause.Reactive> activeClauses;
+    // Clauses that see the members' input, see Clause.InputAware
+    @Nullable
+    private volatile Clause.InputAware[] inputClauses;
+    @Nullable
+    private Consumer<GroupConversation<A>> onEnd;
+
+    /**
+     * @param members Participants of this conversation, duplicates are ignored.
+     */
+    public GroupConversation(Collection<UUID> members, Prompt<A> prompt) {
+        if (prompt.validatesAsync())
+            throw new IllegalArgumentException("Group conversations don't support async converters or filters");
+        this.prompt = prompt;
+        this.memberIndex = new HashMap<>(members.size() * 2);
+        for (UUID member : members)
+            memberIndex.putIfAbsent(member, memberIndex.size());
+
+        this.members = new UUID[memberIndex.size()];
+        ArrayList<Audience> audiences = new ArrayList<>(memberIndex.size());
+        for (Map.Entry<UUID, Integer> member : memberIndex.entrySet())
+            this.members[member.getValue()] = member.getKey();
+        for (UUID member : this.members)
+            audiences.add(Conversations.provider().player(member));
+
+        this.attempts = new AtomicIntegerArray(this.members.length);
+        this.remaining = new AtomicInteger(this.members.length);
+        this.audience = Audience.audience(audiences);
+    }
+
+    /**
+     * Sends the prompt to every member and starts taking their answers.
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) throw new IllegalStateException("Can't run a group conversation multiple times");
+        if (rateLimit == null) rateLimit = prompt.getRateLimit();
+        if (rateLimit != null) {
+            inputDueAt = new AtomicLongArray(members.length);
+            for (int i = 0; i < members.length; i++)
+                inputDueAt.set(i, Long.MIN_VALUE);
+        }
+        Conversations.registerGroup(this);
+        Conversations.metrics().conversationStarted();
+        activateClauses();
+        audience.sendMessage(prompt.line(by));
+        if (members.length == 0) complete();
+    }
+
+    /**
+     * Ends the conversation right away, without displaying the finishing text.
+     */
+    public void end() {
+        if (finished.compareAndSet(false, true)) finish();
+    }
+
+    /**
+     * Specifies a clause for when this conversation should end, for all members at once.
+     * {@link Clause.InputAware} clauses see the input of every member, e.g rejectedInputs(3) counts the whole group's rejected answers.
+     */
+    public GroupConversation<A> endWhen(Clause clause) {
+        if (endClauses == null) this.endClauses = new ArrayList<>();
+        this.endClauses.add(clause);
+        return this;
+    }
+
+    /**
+     * The text that gets displayed to every member when all of them have answered.
+     *
+     * @apiNote Can be null.
+     */
+    public GroupConversation<A> finishingText(String component) {
+        this.onComplete = ComponentCache.legacy(component);
+        return this;
+    }
+
+    /**
+     * A name that gets prepended to the prompt, see {@link Conversation#by(String)}.
+     */
+    public GroupConversation<A> by(String name) {
+        this.by = ComponentCache.legacy(name);
+        return this;
+    }
+
+    /**
+     * Limits how fast each member's input is handled, over the prompt's own {@link Prompt#rateLimit(RateLimit)}.
+     * Input over the limit is always dropped, it's never coalesced.
+     *
+     * @apiNote Can be null.
+     */
+    public GroupConversation<A> rateLimit(RateLimit limit) {
+        this.rateLimit = limit;
+        return this;
+    }
+
+    /**
+     * Whether the input should be echo'd back to the sender.
+     */
+    public GroupConversation<A> echo(boolean flag) {
+        this.echo = flag;
+        return this;
+    }
+
+    /**
+     * Folds every accepted answer into a single result, next to the counts of {@link #getResults()}.
+     * The function may be called more than once per answer when members answer at the same time, so it should be pure.
+     * <p>
+     * e.g the sum of all answers: reduce(0, Integer::sum)
+     */
+    @SuppressWarnings("unchecked")
+    public <R> GroupConversation<A> reduce(R identity, BiFunction<R, ? super A, R> function) {
+        this.reduced = new AtomicReference<>(identity);
+        this.reducer = (BiFunction<Object, A, Object>) function;
+        return this;
+    }
+
+    /**
+     * Called once when the conversation ends, for whatever reason, e.g to announce the results.
+     */
+    public GroupConversation<A> onEnd(Consumer<GroupConversation<A>> callback) {
+        this.onEnd = callback;
+        return this;
+    }
+
+    /**
+     * Returns how many members gave the given answer.
+     */
+    public long getCount(A answer) {
+        LongAdder count = tally.get(answer);
+        return count == null ? 0L : count.sum();
+    }
+
+    /**
+     * Returns how many members gave each answer, as a copy.
+     */
+    public Map<A, Long> getResults() {
+        HashMap<A, Long> results = new HashMap<>(tally.size() * 2);
+        tally.forEach((answer, count) -> results.put(answer, count.sum()));
+        return results;
+    }
+
+    /**
+     * Returns the result of the {@link #reduce(Object, BiFunction)} function.
+     *
+     * @apiNote Null if no reduce function was set.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> @Nullable R getReduced() {
+        return reduced == null ? null : (R) reduced.get();
+    }
+
+    /**
+     * Returns the amount of members that have given an accepted answer.
+     */
+    public long getAnsweredCount() {
+        return answered.sum();
+    }
+
+    /**
+     * Returns the amount of members that haven't answered yet, and still have attempts left.
+     */
+    public int getRemaining() {
+        return remaining.get();
+    }
+
+    public List<UUID> getMembers() {
+        return Collections.unmodifiableList(Arrays.asList(members));
+    }
+
+    public boolean isMember(UUID uuid) {
+        return memberIndex.containsKey(uuid);
+    }
+
+    public boolean isFinished() {
+        return finished.get();
+    }
+
+    public boolean echoOn() {
+        return echo;
+    }
+
+    //** INTERNAL **//
+    protected void handleInput(UUID member, String input) {
+        if (finished.get()) return;
+        Integer index = memberIndex.get(member);
+        if (index == null) return;
+        if (inputDueAt != null && !admitInput(index)) {
+            Conversations.metrics().inputDropped();
+            return;
+        }
+
+        if (attempts.get(index) == DONE) return;
+        Clause.InputAware[] clauses = inputClauses;
+        if (clauses != null) {
+            for (Clause.InputAware clause : clauses) {
+                if (!clause.input(input)) continue;
+                trigger(clause);
+                return;
+            }
+        }
+
+        int attempt;
+        do {
+            attempt = attempts.get(index);
+            if (attempt == DONE) return;
+            // Out of attempts, this input only ends the member's turn, like it does in a regular conversation
+            if (!prompt.shouldHandle(attempt)) {
+                if (!attempts.compareAndSet(index, attempt, DONE)) continue;
+                Conversations.metrics().attemptsExhausted();
+                Audience sender = Conversations.provider().player(member);
+                if (prompt.getAttemptsOverText() != null) sender.sendMessage(prompt.getAttemptsOverText());
+                memberDone(member);
+                return;
+            }
+        } while (!attempts.compareAndSet(index, attempt, attempt + 1));
+
+        Audience sender = Conversations.provider().player(member);
+        A value = prompt.evaluate(StringValidator.clean(input), sender);
+        if (value == null) {
+            rejected();
+            return;
+        }
+        // The same member answering twice at once only counts once
+        if (attempts.getAndSet(index, DONE) == DONE) return;
+
+        tally.computeIfAbsent(value, answer -> new LongAdder()).increment();
+        answered.increment();
+        if (reducer != null) reduced.updateAndGet(current -> reducer.apply(current, value));
+        prompt.fetch(value, sender);
+        memberDone(member);
+    }
+
+    private boolean admitInput(int index) {
+        long now = System.nanoTime(), dueAt, admitted;
+        do {
+            dueAt = inputDueAt.get(index);
+            admitted = rateLimit.admit(dueAt, now);
+            if (admitted == RateLimit.REJECTED) return false;
+        } while (!inputDueAt.compareAndSet(index, dueAt, admitted));
+        return true;
+    }
+
+    /**
+     * Called when a member leaves the server, the group doesn't wait for their answer anymore.
+     */
+    void memberLeft(UUID member) {
+        Integer index = memberIndex.get(member);
+        if (index == null || finished.get()) return;
+        if (attempts.getAndSet(index, DONE) == DONE) return;
+        memberDone(member);
+    }
+
+    private void memberDone(UUID member) {
+        Conversations.groupMemberDone(member, this);
+        if (remaining.decrementAndGet() == 0) complete();
+    }
+
+    private void complete() {
+        // Only one of the ways to end gets to tell the members about it, e.g a timer firing while the last member answers
+        if (!finished.compareAndSet(false, true)) return;
+        Conversations.metrics().conversationCompleted();
+        if (onComplete != null)
+            audience.sendMessage(by != null ? by.append(Constants.NAME_SEPARATOR).append(onComplete) : onComplete);
+        finish();
+    }
+
+    /**
+     * Lets the input-aware clauses count a rejected answer.
+     */
+    private void rejected() {
+        Clause.InputAware[] clauses = inputClauses;
+        if (clauses == null) return;
+        for (Clause.InputAware clause : clauses) {
+            if (!clause.rejected()) continue;
+            trigger(clause);
+            return;
+        }
+    }
+
+    private void trigger(Clause clause) {
+        if (!finished.compareAndSet(false, true)) return;
+        if (clause.getTriggerMessage() != null)
+            audience.sendMessage(clause.getTriggerMessage());
+        Conversations.metrics().clauseTriggered(clause);
+        finish();
+    }
+
+    /**
+     * Tears the conversation down, called once by whichever way of ending set {@link #finished}.
+     */
+    private void finish() {
+        deactivateClauses();
+        Conversations.unregisterGroup(this);
+        if (onEnd != null) onEnd.accept(this);
+    }
+
+    private void activateClauses() {
+        if (endClauses == null) return;
+        synchronized (endClauses) {
+            activeClauses = new ArrayList<>(endClauses.size());
+            ArrayList<Clause.InputAware> inputAware = null;
+            for (Clause clause : endClauses) {
+                Clause.Reactive reactive = Conversations.reactive(clause);
+                activeClauses.add(reactive);
+                if (clause instanceof Clause.InputAware inputClause) {
+                    if (inputAware == null) inputAware = new ArrayList<>(1);
+                    inputAware.add(inputClause);
+                }
+                reactive.activate(() -> trigger(clause));
+            }
+            if (inputAware != null) inputClauses = inputAware.toArray(new Clause.InputAware[0]);
+        }
+    }
+
+    private void deactivateClauses() {
+        if (endClauses == null) return;
+        synchronized (endClauses) {
+            if (activeClauses == null) return;
+            for (Clause.Reactive clause : activeClauses)
+                clause.deactivate();
+            activeClauses = null;
+            inputClauses = null;
+        }
+    }
+
+    UUID[] members() {
+        return members;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.util.NumberParser;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Converter} for {@link IntPrompt}s that doesn't box, and reports invalid input through its return value instead of throwing.
+ */
+@FunctionalInterface
+public interface IntConverter {
+
+    /**
+     * @return The converted value, or {@link NumberParser#INVALID}, or anything outside of the int range, if the input can't be converted.
+     */
+    long convert(String input);
+}
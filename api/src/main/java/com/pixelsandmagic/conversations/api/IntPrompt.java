@@ -0,0 +1,95 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.util.NumberParser;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Prompt} for whole numbers. The input is parsed and filtered without boxing or throwing,
+ * so a wrong answer costs no more than a right one. The answer is only boxed once it's accepted.
+ * <p>
+ * e.g;
+ * new IntPrompt(Component.text("What's 2+2?"))
+ * .intFilter(answer -> answer == 4)
+ * .fetch((answer, sender) -> ...)
+ * <p>
+ * Setting a regular {@link #converter(Converter)} falls back to the boxed pipeline, a regular filter is still applied after the int filter.
+ */
+public class IntPrompt extends Prompt<Integer> {
+
+    private IntConverter intConverter = NumberParser::parseInt;
+    private IntPredicate intFilter;
+
+    public IntPrompt(Component text) {
+        super(text);
+        codec(AnswerCodec.INTEGER);
+    }
+
+    /**
+     * Replaces the default converter, which parses plain decimal numbers.
+     *
+     * @apiNote Can't be null.
+     */
+    public IntPrompt intConverter(@NotNull IntConverter converter) {
+        this.intConverter = converter;
+        return this;
+    }
+
+    /**
+     * @apiNote Can be null.
+     */
+    public IntPrompt intFilter(IntPredicate filter) {
+        this.intFilter = filter;
+        return this;
+    }
+
+    //** INTERNAL **//
+    @Override
+    protected void handleInput(Conversation conversation, String input) {
+        if (hasConverter()) {
+            super.handleInput(conversation, input);
+            return;
+        }
+        conversation.attempted();
+        long converted = convert(input);
+        if (valid(converted, conversation.getAudience())) filterAndAccept(conversation, (int) converted);
+    }
+
+    @Override
+    protected @Nullable Integer evaluate(String input, Audience sender) {
+        if (hasConverter()) return super.evaluate(input, sender);
+        long converted = convert(input);
+        if (!valid(converted, sender)) return null;
+        return passesFilter((int) converted, sender) ? (int) converted : null;
+    }
+
+    private long convert(String input) {
+        try {
+            return intConverter.convert(input);
+        } catch (Exception e) {
+            return NumberParser.INVALID;
+        }
+    }
+
+    /**
+     * Checks the converted input against the int range and the int filter, and tells the sender if it fails.
+     */
+    private boolean valid(long converted, Audience sender) {
+        if (converted < Integer.MIN_VALUE || converted > Integer.MAX_VALUE) {
+            conversionFailed(sender);
+            return false;
+        }
+        if (intFilter != null && !intFilter.test((int) converted)) {
+            filterFailed(sender);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.util.NumberParser;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Converter} for {@link LongPrompt}s that doesn't box, and reports invalid input through its return value instead of throwing.
+ */
+@FunctionalInterface
+public interface LongConverter {
+
+    /**
+     * @return The converted value, or {@link NumberParser#INVALID} if the input can't be converted.
+     */
+    long convert(String input);
+}
@@ -0,0 +1,85 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.util.NumberParser;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Prompt} for whole numbers that don't fit in an int, see {@link IntPrompt}.
+ * {@link Long#MIN_VALUE} can't be given as an answer, it marks invalid input.
+ */
+public class LongPrompt extends Prompt<Long> {
+
+    private LongConverter longConverter = NumberParser::parseLong;
+    private LongPredicate longFilter;
+
+    public LongPrompt(Component text) {
+        super(text);
+        codec(AnswerCodec.LONG);
+    }
+
+    /**
+     * Replaces the default converter, which parses plain decimal numbers.
+     *
+     * @apiNote Can't be null.
+     */
+    public LongPrompt longConverter(@NotNull LongConverter converter) {
+        this.longConverter = converter;
+        return this;
+    }
+
+    /**
+     * @apiNote Can be null.
+     */
+    public LongPrompt longFilter(LongPredicate filter) {
+        this.longFilter = filter;
+        return this;
+    }
+
+    //** INTERNAL **//
+    @Override
+    protected void handleInput(Conversation conversation, String input) {
+        if (hasConverter()) {
+            super.handleInput(conversation, input);
+            return;
+        }
+        conversation.attempted();
+        long value = convert(input);
+        if (valid(value, conversation.getAudience())) filterAndAccept(conversation, value);
+    }
+
+    @Override
+    protected @Nullable Long evaluate(String input, Audience sender) {
+        if (hasConverter()) return super.evaluate(input, sender);
+        long value = convert(input);
+        if (!valid(value, sender)) return null;
+        return passesFilter(value, sender) ? value : null;
+    }
+
+    private long convert(String input) {
+        try {
+            return longConverter.convert(input);
+        } catch (Exception e) {
+            return NumberParser.INVALID;
+        }
+    }
+
+    private boolean valid(long value, Audience sender) {
+        if (value == NumberParser.INVALID) {
+            conversionFailed(sender);
+            return false;
+        }
+        if (longFilter != null && !longFilter.test(value)) {
+            filterFailed(sender);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,20 @@
+package com.gigabitwize.conversations.api;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * What happens to a conversation that's run while the max. amount of conversations are running,
+ * see {@link Conversations#maxConversations(int, OverflowPolicy)}.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The new conversation isn't started, {@link Conversation#run()} returns false.
+     */
+    REJECT,
+
+    /**
+     * The conversation that has been running the longest is ended to make room for the new one.
+     */
+    EVICT_OLDEST;
+}
@@ -0,0 +1,74 @@
+package com.gigabitwize.conversations.api;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A single async validation of a prompt's input. It waits for a permit of the {@link AsyncLimiter},
+ * runs, and hands its result to the conversation's mailbox, or a {@link TimeoutException} if it took too long.
+ * Whichever comes first, the result or the timeout, wins.
+ * <p>
+ * The permit is only given back once the stage itself completes, a timed out stage, e.g a slow database query,
+ * is still running and keeps counting towards the cap. A stage that never completes holds on to its permit.
+ */
+final class PendingValidation<R> implements Runnable {
+
+    private static final int WAITING = 0, RUNNING = 1, DONE = 2;
+
+    private final Conversation conversation;
+    private final AsyncLimiter limiter;
+    private final Supplier<CompletionStage<R>> validation;
+    private final BiConsumer<R, Throwable> callback;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    private volatile ScheduledFuture<?> timeout;
+
+    PendingValidation(Conversation conversation, Supplier<CompletionStage<R>> validation, BiConsumer<R, Throwable> callback) {
+        this.conversation = conversation;
+        this.limiter = Conversations.asyncLimiter();
+        this.validation = validation;
+        this.callback = callback;
+    }
+
+    /**
+     * @param timeoutMillis Counted from now, so time spent waiting for a permit is included.
+     */
+    void submit(long timeoutMillis) {
+        if (timeoutMillis > 0L)
+            timeout = Conversations.schedule(() -> complete(null, new TimeoutException()), timeoutMillis, TimeUnit.MILLISECONDS);
+        limiter.submit(this);
+    }
+
+    @Override
+    public void run() {
+        // Timed out while waiting for the permit
+        if (!state.compareAndSet(WAITING, RUNNING)) {
+            limiter.release();
+            return;
+        }
+        CompletionStage<R> stage;
+        try {
+            stage = validation.get();
+        } catch (Exception e) {
+            limiter.release();
+            complete(null, e);
+            return;
+        }
+        stage.whenComplete((result, error) -> {
+            limiter.release();
+            complete(result, error);
+        });
+    }
+
+    private void complete(R result, Throwable error) {
+        if (state.getAndSet(DONE) == DONE) return;
+        if (timeout != null) timeout.cancel(false);
+        conversation.getMailbox().post(() -> callback.accept(result, error));
+    }
+}
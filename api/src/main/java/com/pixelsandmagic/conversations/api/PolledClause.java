@@ -0,0 +1,46 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.clause.Clause;
+import net.kyori.adventure.text.Component;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Adapts a clause that can only be polled into a {@link Clause.Reactive} one, by checking
+ * it every millisecond on the conversations thread.
+ */
+class PolledClause implements Clause.Reactive {
+
+    private final Clause clause;
+    private volatile ScheduledFuture<?> poll;
+
+    PolledClause(Clause clause) {
+        this.clause = clause;
+    }
+
+    @Override
+    public void activate(Trigger trigger) {
+        poll = Conversations.scheduleAtFixedRate(() -> {
+            if (clause instanceof Clause.Ticking tickingClause)
+                tickingClause.tick();
+
+            if (clause.hasBeenTriggered()) {
+                deactivate();
+                trigger.fire();
+            }
+        }, 1L, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void deactivate() {
+        if (poll != null) poll.cancel(false);
+    }
+
+    @Override
+    public Component getTriggerMessage() {
+        return clause.getTriggerMessage();
+    }
+}
@@ -1,30 +1,50 @@
 package com.gigabitwize.conversations.api;
 
+import com.gigabitwize.conversations.api.jfr.ConversationEvents;
+import com.gigabitwize.conversations.api.jfr.FetchEvent;
+import com.gigabitwize.conversations.api.jfr.InputEvent;
+import com.gigabitwize.conversations.api.jfr.ValidationEvent;
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import com.gigabitwize.conversations.api.util.ComponentCache;
 import com.gigabitwize.conversations.api.util.Constants;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Created by Giovanni on 2/8/2023
+ * <p>
+ * A prompt holds no state of the conversation it's used in, the attempts used etc. are tracked by
+ * the {@link Conversation}. This means a single prompt can be shared by any amount of conversations,
+ * e.g through a {@link ConversationTemplate}.
  */
 public class Prompt<A> {
 
     private final Component text;
-    private int id;
+    private volatile DisplayLine displayLine;
 
     private int attempts = 3;
-    private int currentAttempt;
-    private boolean complete;
 
-    private Conversation conversation;
     private Fetch<A> inputHandler;
     private Predicate<A> inputFilter;
     private Converter<A> stringConverter;
-    private Component conversionFailedText, filterFailedText = Constants.INVALID_INPUT_MESSAGE;
-    private Component attemptsOverText;
+    private AsyncConverter<A> asyncConverter;
+    private AsyncFilter<A> asyncFilter;
+    private AsyncFetch<A> asyncFetch;
+    private long timeoutMillis = 5000L;
+    private boolean queueWhilePending;
+    private Component conversionFailedText = Constants.INVALID_INPUT_MESSAGE, filterFailedText = Constants.INVALID_INPUT_MESSAGE;
+    private Component attemptsOverText, timedOutText = Constants.VALIDATION_TIMED_OUT_MESSAGE;
+    private AnswerCodec<A> codec;
+    private RateLimit rateLimit;
 
     public Prompt(Component text) {
         this.text = text;
@@ -38,6 +58,19 @@ public class Prompt<A> {
      */
     public Prompt<A> converter(@NotNull Converter<A> stringConverter) {
         this.stringConverter = stringConverter;
+        this.asyncConverter = null;
+        return this;
+    }
+
+    /**
+     * Same as {@link #converter(Converter)}, but the conversion may complete later, e.g after a database lookup.
+     * The conversation doesn't block while it's pending, see {@link #timeout(long, TimeUnit)} and {@link #queueWhilePending(boolean)}.
+     *
+     * @apiNote Can't be null.
+     */
+    public Prompt<A> converterAsync(@NotNull AsyncConverter<A> converter) {
+        this.asyncConverter = converter;
+        this.stringConverter = null;
         return this;
     }
 
@@ -51,6 +84,18 @@ public class Prompt<A> {
      */
     public Prompt<A> filter(Predicate<A> inputFilter) {
         this.inputFilter = inputFilter;
+        this.asyncFilter = null;
+        return this;
+    }
+
+    /**
+     * Same as {@link #filter(Predicate)}, but the check may complete later.
+     *
+     * @apiNote Can be null.
+     */
+    public Prompt<A> filterAsync(AsyncFilter<A> filter) {
+        this.asyncFilter = filter;
+        this.inputFilter = null;
         return this;
     }
 
@@ -61,11 +106,57 @@ public class Prompt<A> {
      */
     public Prompt<A> fetch(Fetch<A> input) {
         this.inputHandler = input;
+        this.asyncFetch = null;
+        return this;
+    }
+
+    /**
+     * Same as {@link #fetch(Fetch)}, the conversation moves on to the next prompt once the returned stage completes.
+     */
+    public Prompt<A> fetchAsync(AsyncFetch<A> fetch) {
+        this.asyncFetch = fetch;
+        this.inputHandler = null;
+        return this;
+    }
+
+    /**
+     * How long the async converter and filter of a single input may take together, defaults to 5 seconds.
+     * If they take longer, the input counts as a failed attempt.
+     * <p>
+     * An async fetch isn't covered, once it has started its side effects, e.g a payment, can't be taken back,
+     * so the conversation waits for it however long it takes.
+     *
+     * @apiNote 0 or less means no timeout.
+     */
+    public Prompt<A> timeout(long timeout, TimeUnit unit) {
+        this.timeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Whether input that's given while the previous input is still being validated should be queued,
+     * and handled if that validation fails. If false, which is the default, it's ignored.
+     */
+    public Prompt<A> queueWhilePending(boolean flag) {
+        this.queueWhilePending = flag;
+        return this;
+    }
+
+    /**
+     * Limits how fast input is handled while this prompt is displayed, over the conversation's own
+     * {@link Conversation#rateLimit(RateLimit)}. Input over the limit doesn't count as an attempt.
+     *
+     * @apiNote Can be null.
+     */
+    public Prompt<A> rateLimit(RateLimit limit) {
+        this.rateLimit = limit;
         return this;
     }
 
     /**
-     * The max. attempts the input giver will have before the prompt gets cancelled.
+     * The max. attempts the input giver will have before the prompt gets cancelled. Every answer the prompt handles
+     * is an attempt, once they're all used up the next input ends the conversation, e.g with 3 attempts, the input after
+     * the 3rd wrong answer. In a {@link GroupConversation} the same goes for every member, whose turn ends instead.
      */
     public Prompt<A> attempts(int maxAttempts) {
         this.attempts = maxAttempts;
@@ -80,7 +171,7 @@ public class Prompt<A> {
      * @apiNote Can be null, will default to {@link Constants#INVALID_INPUT_MESSAGE}.
      */
     public Prompt<A> conversionFailText(@NotNull String component) {
-        this.conversionFailedText = LegacyComponentSerializer.legacyAmpersand().deserialize(component);
+        this.conversionFailedText = ComponentCache.legacy(component);
         return this;
     }
 
@@ -92,7 +183,7 @@ public class Prompt<A> {
      * @apiNote Can be null, will default to {@link Constants#INVALID_INPUT_MESSAGE}.
      */
     public Prompt<A> filterFailText(@NotNull String component) {
-        this.filterFailedText = LegacyComponentSerializer.legacyAmpersand().deserialize(component);
+        this.filterFailedText = ComponentCache.legacy(component);
         return this;
     }
 
@@ -104,71 +195,299 @@ public class Prompt<A> {
      * @apiNote If null, won't display anything.
      */
     public Prompt<A> allAttemptsFailedText(@NotNull String component) {
-        this.attemptsOverText = LegacyComponentSerializer.legacyAmpersand().deserialize(component);
+        this.attemptsOverText = ComponentCache.legacy(component);
+        return this;
+    }
+
+    /**
+     * The error message that gets displayed when the async validation took longer than its {@link #timeout(long, TimeUnit)}.
+     *
+     * @apiNote Can be null, will default to {@link Constants#VALIDATION_TIMED_OUT_MESSAGE}.
+     */
+    public Prompt<A> timedOutText(@NotNull String component) {
+        this.timedOutText = ComponentCache.legacy(component);
+        return this;
+    }
+
+    /**
+     * The codec used to store the converted answer when the conversation is {@link Conversation#persistent(String)}.
+     *
+     * @apiNote Can be null, the answer won't be stored.
+     */
+    public Prompt<A> codec(AnswerCodec<A> codec) {
+        this.codec = codec;
         return this;
     }
 
     // ** INTERAL METHODS **//
-    protected void display() {
-        if (conversation.getBy() != null) {
-            conversation.getAudience().sendMessage(conversation.getBy().append(Component.text(" ")).append(text));
-            return;
+    protected void display(Conversation conversation) {
+        conversation.getAudience().sendMessage(line(conversation.getBy()));
+    }
+
+    /**
+     * Returns the prompt's text, prepended with the given name.
+     */
+    Component line(@Nullable Component by) {
+        // Conversations sharing this prompt mostly share their name too, so the line is only built once
+        DisplayLine line = displayLine;
+        if (line == null || line.by != by) {
+            line = new DisplayLine(by, by == null ? text : by.append(Constants.NAME_SEPARATOR).append(text));
+            displayLine = line;
         }
-        conversation.getAudience().sendMessage(text);
+        return line.text;
     }
 
-    protected void handleInput(String input) {
-        currentAttempt++;
+    protected void handleInput(Conversation conversation, String input) {
+        conversation.attempted();
+        if (asyncConverter != null) {
+            submit(conversation, () -> convertStage(input));
+            return;
+        }
 
         A converted;
         try {
             converted = stringConverter.convert(input);
         } catch (Exception e) {
-            conversation.getAudience().sendMessage(conversionFailedText);
+            conversionFailed(conversation.getAudience());
             return;
         }
 
         if (converted == null) {
-            conversation.getAudience().sendMessage(conversionFailedText);
+            conversionFailed(conversation.getAudience());
+            return;
+        }
+        filterAndAccept(conversation, converted);
+    }
+
+    /**
+     * Runs the converted input through the filter, and accepts it if it passes.
+     */
+    protected final void filterAndAccept(Conversation conversation, A value) {
+        if (asyncFilter != null) {
+            submit(conversation, () -> filterStage(value));
+            return;
+        }
+        if (inputFilter != null && !inputFilter.test(value)) {
+            filterFailed(conversation.getAudience());
+            return;
+        }
+        accept(conversation, value);
+    }
+
+    /**
+     * Fetches the converted and filtered input, and moves the conversation on.
+     */
+    protected final void accept(Conversation conversation, A value) {
+        if (asyncFetch == null) {
+            fetch(conversation, value);
+            conversation.answered(this, value);
             return;
         }
+        submitFetch(conversation, value);
+    }
+
+    /**
+     * Whether a regular converter has been set, primitive prompts such as {@link IntPrompt} fall back to it if so.
+     */
+    protected boolean hasConverter() {
+        return stringConverter != null || asyncConverter != null;
+    }
+
+    /**
+     * Runs the rest of the pipeline as one chain off the conversation's thread, the result is
+     * handed back to the conversation's mailbox. The conversation holds further input meanwhile.
+     */
+    private void submit(Conversation conversation, Supplier<CompletionStage<Outcome<A>>> stage) {
+        submit(conversation, stage, timeoutMillis);
+    }
+
+    private void submit(Conversation conversation, Supplier<CompletionStage<Outcome<A>>> stage, long timeoutMillis) {
+        int token = conversation.awaitValidation();
+        long submittedAt = ConversationEvents.now();
+        new PendingValidation<>(conversation, stage,
+                (Outcome<A> outcome, Throwable error) -> validated(conversation, token, outcome, error, submittedAt))
+                .submit(timeoutMillis);
+    }
+
+    /**
+     * Runs the async fetch without a timeout, see {@link #timeout(long, TimeUnit)}.
+     */
+    private void submitFetch(Conversation conversation, A value) {
+        Audience sender = conversation.getAudience();
+        submit(conversation, () -> fetchStage(value, sender), 0L);
+    }
+
+    private CompletionStage<Outcome<A>> convertStage(String input) {
+        return asyncConverter.convert(input).handle((value, error) -> value).thenCompose(value -> value == null
+                ? CompletableFuture.completedFuture(new Outcome<>(Result.CONVERSION_FAILED, null, null))
+                : filterStage(value));
+    }
 
-        if (inputFilter != null) {
-            if (inputFilter.test(converted)) {
-                inputHandler.execute(converted, conversation.getAudience());
-                complete = true;
-                conversation.next();
-                return;
+    private CompletionStage<Outcome<A>> filterStage(A value) {
+        CompletionStage<Boolean> passed = asyncFilter != null ? asyncFilter.test(value)
+                : CompletableFuture.completedFuture(inputFilter == null || inputFilter.test(value));
+        // The fetch is submitted on its own once the value passed, so it isn't timed out with the validation
+        return passed.handle((flag, error) -> Boolean.TRUE.equals(flag)
+                ? new Outcome<>(Result.PASSED, value, null)
+                : new Outcome<>(Result.FILTER_FAILED, null, null));
+    }
+
+    private CompletionStage<Outcome<A>> fetchStage(A value, Audience sender) {
+        // A sync fetch runs on the conversation's thread, like it would without async parts
+        if (asyncFetch == null) return CompletableFuture.completedFuture(new Outcome<>(Result.PASSED, value, null));
+        FetchEvent event = ConversationEvents.fetching();
+        return asyncFetch.execute(value, sender).thenApply(ignored -> {
+            if (event != null) event.end();
+            return new Outcome<>(Result.FETCHED, value, event);
+        });
+    }
+
+    private void validated(Conversation conversation, int token, Outcome<A> outcome, Throwable error, long submittedAt) {
+        if (!conversation.validated(token)) return;
+        ConversationEvents.validated(conversation.getParticipant(), conversation.promptId(), conversation.attempt(),
+                error instanceof TimeoutException ? ValidationEvent.TIMED_OUT : error != null ? ValidationEvent.FAILED : outcome.result.name,
+                submittedAt);
+
+        if (error != null) {
+            if (error instanceof TimeoutException) {
+                Conversations.metrics().validationTimedOut();
+                if (timedOutText != null) conversation.getAudience().sendMessage(timedOutText);
+            } else {
+                error.printStackTrace();
+                conversionFailed(conversation.getAudience());
             }
-            conversation.getAudience().sendMessage(filterFailedText);
+            conversation.rejected();
+            conversation.handleQueuedInput();
             return;
         }
-        inputHandler.execute(converted, conversation.getAudience());
-        complete = true;
-        conversation.next();
+
+        switch (outcome.result) {
+            case CONVERSION_FAILED -> {
+                conversionFailed(conversation.getAudience());
+                conversation.rejected();
+            }
+            case FILTER_FAILED -> {
+                filterFailed(conversation.getAudience());
+                conversation.rejected();
+            }
+            case PASSED -> {
+                if (asyncFetch != null) {
+                    submitFetch(conversation, outcome.value);
+                    return;
+                }
+                fetch(conversation, outcome.value);
+                conversation.answered(this, outcome.value);
+            }
+            case FETCHED -> {
+                if (outcome.fetch != null)
+                    ConversationEvents.fetched(outcome.fetch, conversation.getParticipant(), conversation.promptId(), true);
+                conversation.answered(this, outcome.value);
+            }
+        }
+        conversation.handleQueuedInput();
+    }
+
+    private void fetch(Conversation conversation, A value) {
+        FetchEvent event = ConversationEvents.fetching();
+        inputHandler.execute(value, conversation.getAudience());
+        if (event != null) ConversationEvents.fetched(event, conversation.getParticipant(), conversation.promptId(), false);
+    }
+
+    protected final void conversionFailed(Audience sender) {
+        ConversationEvents.inputOutcome(InputEvent.CONVERSION_FAILED);
+        Conversations.metrics().conversionFailed();
+        sender.sendMessage(conversionFailedText);
+    }
+
+    protected final void filterFailed(Audience sender) {
+        ConversationEvents.inputOutcome(InputEvent.FILTER_FAILED);
+        Conversations.metrics().filterFailed();
+        sender.sendMessage(filterFailedText);
+    }
+
+    /**
+     * Converts and filters the input for a {@link GroupConversation}, and tells the sender if it's rejected.
+     *
+     * @return Null if the input was rejected.
+     */
+    protected @Nullable A evaluate(String input, Audience sender) {
+        A converted;
+        try {
+            converted = stringConverter.convert(input);
+        } catch (Exception e) {
+            converted = null;
+        }
+        if (converted == null) {
+            conversionFailed(sender);
+            return null;
+        }
+        return passesFilter(converted, sender) ? converted : null;
     }
 
-    protected boolean shouldHandle() {
+    /**
+     * Runs the regular filter, and tells the sender if it fails.
+     */
+    protected final boolean passesFilter(A value, Audience sender) {
+        if (inputFilter == null || inputFilter.test(value)) return true;
+        filterFailed(sender);
+        return false;
+    }
+
+    /**
+     * Whether the converter or filter is async, group conversations don't support that.
+     */
+    boolean validatesAsync() {
+        return asyncConverter != null || asyncFilter != null;
+    }
+
+    /**
+     * Fetches a group member's answer, an async fetch isn't waited for.
+     */
+    void fetch(A value, Audience sender) {
+        if (asyncFetch != null) {
+            asyncFetch.execute(value, sender).exceptionally(error -> {
+                error.printStackTrace();
+                return null;
+            });
+        } else if (inputHandler != null) inputHandler.execute(value, sender);
+    }
+
+    protected boolean queuesWhilePending() {
+        return queueWhilePending;
+    }
+
+    protected boolean shouldHandle(int currentAttempt) {
         return currentAttempt < attempts;
     }
 
+    protected @Nullable RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    protected AnswerCodec<A> getCodec() {
+        return codec;
+    }
+
     protected Component getAttemptsOverText() {
         return attemptsOverText;
     }
 
-    protected boolean isComplete() {
-        return complete;
+    private record DisplayLine(Component by, Component text) {
     }
 
-    protected int getId() {
-        return id;
-    }
+    private enum Result {
+        CONVERSION_FAILED("Conversion failed"), FILTER_FAILED("Filter failed"), PASSED("Passed"), FETCHED("Fetched");
 
-    protected void setId(int id) {
-        this.id = id;
+        private final String name;
+
+        Result(String name) {
+            this.name = name;
+        }
     }
 
-    protected void setConversation(Conversation conversation) {
-        this.conversation = conversation;
+    /**
+     * @param fetch The async fetch's flight recorder event, if fetch events are enabled.
+     */
+    private record Outcome<A>(Result result, A value, @Nullable FetchEvent fetch) {
     }
 }
@@ -0,0 +1,51 @@
+package com.gigabitwize.conversations.api;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Builds a conversation's prompts one at a time, once the conversation gets to them, see {@link Conversation#prompts(PromptSource)}.
+ * Only the prompt that's displayed is held, so a long or generated questionnaire costs about as much per participant as a single prompt.
+ * <p>
+ * e.g;
+ * new Conversation(uuid).prompts((conversation, id) -> id > exam.size() ? null : exam.question(id)).run();
+ */
+@FunctionalInterface
+public interface PromptSource {
+
+    /**
+     * Returns the prompt with the given id, prompts are numbered from 1. Answers to earlier prompts can be read
+     * through {@link Conversation#getAnswer(int)}, e.g to pick the next question based on the previous answer.
+     * <p>
+     * Called once when the conversation gets to the prompt. A persistent conversation that's resumed also asks
+     * for the prompts that have stored answers, to decode them.
+     *
+     * @return Null if there's no such prompt, the conversation is complete once the next prompt is null.
+     */
+    @Nullable Prompt<?> prompt(Conversation conversation, int id);
+
+    /**
+     * Takes the prompts from the iterator, e.g a generator, so it can only be used by a single conversation.
+     * The iterator only goes forward, skipping ahead if needed, a prompt before the last one it returned is null.
+     */
+    static PromptSource of(Iterator<? extends Prompt<?>> prompts) {
+        return new PromptSource() {
+            // Id of the last prompt taken from the iterator
+            private int position;
+
+            @Override
+            public @Nullable Prompt<?> prompt(Conversation conversation, int id) {
+                while (position < id - 1 && prompts.hasNext()) {
+                    prompts.next();
+                    position++;
+                }
+                if (position != id - 1 || !prompts.hasNext()) return null;
+                position++;
+                return prompts.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.gigabitwize.conversations.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Limits how fast a participant's input is let through to a prompt, e.g to stop a spamming player or bot from
+ * burning through their attempts and making the server convert and answer every line. Input over the limit is
+ * discarded before any conversion work, and counted in {@link com.gigabitwize.conversations.api.metrics.ConversationsMetrics#inputDropped()}.
+ * <p>
+ * e.g at most 2 lines per second, with bursts of up to 3 lines;
+ * new Conversation(uuid).rateLimit(RateLimit.of(2, TimeUnit.SECONDS).burst(3))
+ * <p>
+ * A limit only holds configuration, the state is kept per participant, so a single limit can be shared by any amount of conversations.
+ */
+public class RateLimit {
+
+    /**
+     * Returned by {@link #admit(long, long)} when the input is over the limit.
+     */
+    static final long REJECTED = Long.MIN_VALUE;
+
+    private final long interval;
+    private long tolerance;
+    private boolean coalesce;
+
+    private RateLimit(long interval) {
+        if (interval <= 0L) throw new IllegalArgumentException("A rate limit has to allow at least one line per " + Long.MAX_VALUE + " nanoseconds");
+        this.interval = interval;
+    }
+
+    /**
+     * Allows a single line per given unit of time, on average.
+     *
+     * @param lines Lines per unit, at most one per nanosecond.
+     */
+    public static RateLimit of(int lines, TimeUnit unit) {
+        if (lines <= 0) throw new IllegalArgumentException("A rate limit has to allow at least one line");
+        long unitNanos = unit.toNanos(1L);
+        if (lines > unitNanos)
+            throw new IllegalArgumentException("A rate limit can allow at most " + unitNanos + " lines per " + unit.name().toLowerCase() + ", one per nanosecond");
+        return new RateLimit(unitNanos / lines);
+    }
+
+    /**
+     * How many lines may be given right after each other, before the limit kicks in. Defaults to 1.
+     */
+    public RateLimit burst(int lines) {
+        this.tolerance = (Math.max(1, lines) - 1L) * interval;
+        return this;
+    }
+
+    /**
+     * Whether input over the limit should be coalesced rather than dropped. If true, only the latest line over the
+     * limit is kept and handled once the limit allows it, every line it replaces is dropped.
+     * This way the participant's last word always counts, even when they're typing too fast. Defaults to false.
+     */
+    public RateLimit coalesce(boolean flag) {
+        this.coalesce = flag;
+        return this;
+    }
+
+    public boolean coalesces() {
+        return coalesce;
+    }
+
+    //** INTERNAL **//
+
+    /**
+     * The limit is a token bucket in the form of the generic cell rate algorithm, its whole state is a single long;
+     * the time the participant's next line is due at. Lines that come in before it, minus the burst tolerance, are over the limit.
+     *
+     * @param dueAt The current state, {@link Long#MIN_VALUE} for a participant that hasn't given any input yet.
+     * @param now   {@link System#nanoTime()}.
+     * @return The new state, or {@link #REJECTED}.
+     */
+    long admit(long dueAt, long now) {
+        long start = dueAt == Long.MIN_VALUE || dueAt - now < 0L ? now : dueAt;
+        if (start - now > tolerance) return REJECTED;
+        return start + interval;
+    }
+
+    /**
+     * Returns how long it takes before a line would be admitted again, in nanoseconds.
+     */
+    long delay(long dueAt, long now) {
+        if (dueAt == Long.MIN_VALUE) return 0L;
+        return Math.max(0L, dueAt - tolerance - now);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gigabitwize.conversations.api;
+
+import com.gigabitwize.conversations.api.clause.Clause;
+import net.kyori.adventure.text.Component;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Adapts a {@link Clause.Timed} clause into a {@link Clause.Reactive} one, by scheduling
+ * a single check at its deadline.
+ */
+class ScheduledClause implements Clause.Reactive {
+
+    private final Clause.Timed clause;
+    private volatile ScheduledFuture<?> timer;
+
+    ScheduledClause(Clause.Timed clause) {
+        this.clause = clause;
+    }
+
+    @Override
+    public void activate(Trigger trigger) {
+        long now = System.nanoTime();
+        clause.start(now);
+        schedule(trigger, clause.getDeadline() - now);
+    }
+
+    private void schedule(Trigger trigger, long delay) {
+        timer = Conversations.schedule(() -> {
+            if (clause.hasBeenTriggered()) trigger.fire();
+            else schedule(trigger, clause.getDeadline() - System.nanoTime());
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void deactivate() {
+        if (timer != null) timer.cancel(false);
+    }
+
+    @Override
+    public Component getTriggerMessage() {
+        return clause.getTriggerMessage();
+    }
+}
@@ -21,4 +21,90 @@ public interface Clause {
 
         void tick();
     }
+
+    /**
+     * A clause that triggers at a fixed point in time. Rather than being polled, the
+     * conversation schedules a single check at the clause's deadline.
+     */
+    interface Timed extends Clause {
+
+        /**
+         * Starts the clock, called once when the conversation runs.
+         *
+         * @param now The current time in {@link System#nanoTime()} units.
+         */
+        void start(long now);
+
+        /**
+         * Returns the moment this clause triggers, in {@link System#nanoTime()} units.
+         */
+        long getDeadline();
+    }
+
+    /**
+     * A clause that reports itself when its condition is met, instead of being polled.
+     * e.g A listener that fires the trigger when the participant leaves a region.
+     */
+    interface Reactive extends Clause {
+
+        /**
+         * Called once when the conversation runs. Fire the trigger when the clause's
+         * condition is met, from any thread.
+         */
+        void activate(Trigger trigger);
+
+        /**
+         * Called once when the conversation has ended, used for unregistering listeners etc.
+         */
+        default void deactivate() {
+        }
+
+        /**
+         * Reactive clauses report through their {@link Trigger}, so they are never polled.
+         */
+        @Override
+        default boolean hasBeenTriggered() {
+            return false;
+        }
+    }
+
+    /**
+     * A clause that sees the participant's input, e.g one that ends the conversation when they type "cancel".
+     * Both methods are called on the conversation's thread, when either returns true the conversation ends
+     * right away and the input isn't handled any further.
+     * <p>
+     * In a group conversation the clause sees the input of every member, from whatever thread it comes in on.
+     */
+    interface InputAware extends Reactive {
+
+        @Override
+        default void activate(Trigger trigger) {
+        }
+
+        /**
+         * Called with every line the participant sends, before it's handled.
+         *
+         * @return Whether the clause triggered.
+         */
+        boolean input(String input);
+
+        /**
+         * Called when the prompt rejected the participant's input, e.g because it couldn't be converted,
+         * didn't pass the filter or its validation timed out.
+         *
+         * @return Whether the clause triggered.
+         */
+        default boolean rejected() {
+            return false;
+        }
+    }
+
+    /**
+     * Handle given to a {@link Reactive} clause to end its conversation.
+     */
+    @FunctionalInterface
+    interface Trigger {
+
+        void fire();
+    }
 }
@@ -0,0 +1,184 @@
+package com.gigabitwize.conversations.api.clause;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * An end condition built from smaller ones, e.g
+ * (10s elapsed AND no input yet) OR 3 rejected answers OR the participant typed "cancel":
+ * <pre>{@code
+ * conversation.endWhen(Condition.elapsed(10000L).and(Condition.noInput())
+ *         .or(Condition.rejectedInputs(3))
+ *         .or(Condition.keyword("cancel"))
+ *         .toClause(Component.text("Conversation cancelled.")));
+ * }</pre>
+ * A condition is only a description and can be shared between conversations, {@link #toClause(Component)}
+ * compiles it into a fresh evaluation tree for each conversation, see {@link ConditionClause}.
+ */
+public abstract class Condition {
+
+    Condition() {
+    }
+
+    /**
+     * Builds a new evaluation tree for this condition.
+     */
+    abstract ConditionNode compile();
+
+    /**
+     * Compiles this condition into a clause for a single conversation.
+     *
+     * @param triggerMessage Displayed when the condition is met, can be null.
+     */
+    public ConditionClause toClause(@Nullable Component triggerMessage) {
+        return new ConditionClause(this, triggerMessage);
+    }
+
+    public Condition and(Condition other) {
+        return all(this, other);
+    }
+
+    public Condition or(Condition other) {
+        return any(this, other);
+    }
+
+    public Condition negate() {
+        return not(this);
+    }
+
+    /**
+     * True once the given time has passed since the conversation started.
+     */
+    public static Condition elapsed(long millis) {
+        return new Leaf(() -> new ConditionNode.ClauseLeaf(new TimeClause(millis, null)));
+    }
+
+    /**
+     * True until the participant sends their first line.
+     */
+    public static Condition noInput() {
+        return new Leaf(ConditionNode.NoInput::new);
+    }
+
+    /**
+     * True once the participant sent the given amount of lines.
+     */
+    public static Condition inputs(int count) {
+        if (count < 1) throw new IllegalArgumentException("Count must be at least 1");
+        return new Leaf(() -> new ConditionNode.InputCount(count, false));
+    }
+
+    /**
+     * True once the given amount of the participant's answers were rejected by the prompts,
+     * e.g because they couldn't be converted or didn't pass the filter.
+     */
+    public static Condition rejectedInputs(int count) {
+        if (count < 1) throw new IllegalArgumentException("Count must be at least 1");
+        return new Leaf(() -> new ConditionNode.InputCount(count, true));
+    }
+
+    /**
+     * True once the participant sends one of the keywords, ignoring case.
+     */
+    public static Condition keyword(String... keywords) {
+        if (keywords.length == 0) throw new IllegalArgumentException("No keywords given");
+        String[] copy = keywords.clone();
+        return new Leaf(() -> new ConditionNode.Keyword(copy));
+    }
+
+    /**
+     * True once the given clause triggers.
+     *
+     * @apiNote Clauses keep their own state, a condition built from one can only be used by a single conversation.
+     */
+    public static Condition of(Clause clause) {
+        return new Leaf(() -> new ConditionNode.ClauseLeaf(clause));
+    }
+
+    public static Condition all(Condition... conditions) {
+        return atLeast(-1, conditions);
+    }
+
+    public static Condition any(Condition... conditions) {
+        return atLeast(1, conditions);
+    }
+
+    /**
+     * True while at least the given amount of conditions are.
+     */
+    public static Condition atLeast(int count, Condition... conditions) {
+        if (conditions.length == 0) throw new IllegalArgumentException("No conditions given");
+        // Chained and()s and or()s end up as a single node rather than a deep tree
+        ArrayList<Condition> children = new ArrayList<>(conditions.length);
+        for (Condition condition : conditions) {
+            if (condition instanceof Count nested && (count == -1 ? nested.isAll() : count == 1 && nested.threshold == 1))
+                children.addAll(nested.children);
+            else children.add(condition);
+        }
+        int threshold = count == -1 ? children.size() : count;
+        if (threshold < 1 || threshold > children.size())
+            throw new IllegalArgumentException("Count must be between 1 and the amount of conditions");
+        return new Count(children, threshold);
+    }
+
+    public static Condition not(Condition condition) {
+        return new Not(condition);
+    }
+
+    //** INTERNAL **//
+    private static final class Leaf extends Condition {
+
+        private final Supplier<ConditionNode> node;
+
+        private Leaf(Supplier<ConditionNode> node) {
+            this.node = node;
+        }
+
+        @Override
+        ConditionNode compile() {
+            return node.get();
+        }
+    }
+
+    private static final class Count extends Condition {
+
+        private final ArrayList<Condition> children;
+        private final int threshold;
+
+        private Count(ArrayList<Condition> children, int threshold) {
+            this.children = children;
+            this.threshold = threshold;
+        }
+
+        private boolean isAll() {
+            return threshold == children.size();
+        }
+
+        @Override
+        ConditionNode compile() {
+            ConditionNode[] nodes = new ConditionNode[children.size()];
+            for (int i = 0; i < nodes.length; i++)
+                nodes[i] = children.get(i).compile();
+            return new ConditionNode.Count(nodes, threshold);
+        }
+    }
+
+    private static final class Not extends Condition {
+
+        private final Condition condition;
+
+        private Not(Condition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        ConditionNode compile() {
+            return new ConditionNode.Not(condition.compile());
+        }
+    }
+}
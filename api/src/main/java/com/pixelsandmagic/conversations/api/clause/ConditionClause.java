@@ -0,0 +1,130 @@
+package com.gigabitwize.conversations.api.clause;
+
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Ends the conversation once its {@link Condition} is met. The condition is compiled into a tree when the
+ * conversation runs, which is only re-evaluated along the path of the part that changed, see {@link ConditionNode}.
+ * Input only reaches the parts that look at it, and timers only run while their part can still make a difference.
+ */
+public final class ConditionClause implements Clause.InputAware {
+
+    private static final ConditionNode[] NO_INPUTS = new ConditionNode[0];
+
+    private final Condition condition;
+    @Nullable
+    private final Component triggerMessage;
+
+    // Compiled on activation
+    @Nullable
+    private ConditionNode root;
+    private ConditionNode[] inputs = NO_INPUTS;
+    @Nullable
+    private Trigger trigger;
+    private boolean triggered, handlingInput;
+    // The clause of the leaf that's currently firing, and the one that made the condition trigger
+    @Nullable
+    Clause firing;
+    @Nullable
+    private Clause triggeredBy;
+
+    ConditionClause(Condition condition, @Nullable Component triggerMessage) {
+        this.condition = condition;
+        this.triggerMessage = triggerMessage;
+    }
+
+    @Override
+    public synchronized void activate(Trigger trigger) {
+        if (root != null) throw new IllegalStateException("Condition clauses can only be used by one conversation at a time");
+        this.trigger = trigger;
+        this.triggered = false;
+        this.triggeredBy = null;
+        ConditionNode compiled = condition.compile();
+        ArrayList<ConditionNode> inputLeaves = new ArrayList<>();
+        compiled.collectInputs(inputLeaves);
+        this.root = compiled;
+        this.inputs = inputLeaves.toArray(NO_INPUTS);
+        compiled.activate(this);
+        // e.g a negated keyword holds right away
+        if (compiled.value) rootChanged(true);
+    }
+
+    @Override
+    public synchronized void deactivate() {
+        if (root != null && root.active) root.deactivate();
+        root = null;
+        inputs = NO_INPUTS;
+        trigger = null;
+    }
+
+    @Override
+    public synchronized boolean input(String input) {
+        if (root == null) return false;
+        if (triggered) return true;
+        handlingInput = true;
+        try {
+            for (ConditionNode leaf : inputs) {
+                if (leaf.active && !leaf.settled) leaf.input(input);
+                if (triggered) break;
+            }
+        } finally {
+            handlingInput = false;
+        }
+        return triggered;
+    }
+
+    @Override
+    public synchronized boolean rejected() {
+        if (root == null) return false;
+        if (triggered) return true;
+        handlingInput = true;
+        try {
+            for (ConditionNode leaf : inputs) {
+                if (leaf.active && !leaf.settled) leaf.rejected();
+                if (triggered) break;
+            }
+        } finally {
+            handlingInput = false;
+        }
+        return triggered;
+    }
+
+    @Override
+    @Nullable
+    public Component getTriggerMessage() {
+        return triggerMessage;
+    }
+
+    /**
+     * Returns the clause that made the condition trigger, e.g the {@link TimeClause} of {@link Condition#elapsed(long)}.
+     *
+     * @return Null if it hasn't triggered, or was triggered by input, e.g a keyword.
+     */
+    @Nullable
+    public synchronized Clause getTriggeredBy() {
+        return triggeredBy;
+    }
+
+    //** INTERNAL **//
+    synchronized void fired(ConditionNode.ClauseLeaf leaf) {
+        if (leaf.active && !leaf.settled) leaf.fired();
+    }
+
+    void rootChanged(boolean value) {
+        if (!value || triggered) return;
+        triggered = true;
+        triggeredBy = firing;
+        // Input that meets the condition ends the conversation through the return value instead
+        if (!handlingInput && trigger != null) trigger.fire();
+    }
+
+    void rootSettled() {
+        // Either it triggered or it never will, nothing needs the input anymore
+        inputs = NO_INPUTS;
+    }
+}
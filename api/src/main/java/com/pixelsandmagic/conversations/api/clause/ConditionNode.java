@@ -0,0 +1,308 @@
+package com.gigabitwize.conversations.api.clause;
+
+import com.gigabitwize.conversations.api.Conversations;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A node of a compiled {@link Condition}, holding the current value of its part of the expression.
+ * Leaves change their value when their input changes and report it to their parent, which only recomputes
+ * its own value from a count of true children. Nothing above a node whose value didn't change is evaluated.
+ * <p>
+ * Once a node's value can't change anymore it settles, and stops whatever its unsettled children were doing,
+ * e.g the timer under "10s elapsed AND no input" is cancelled as soon as the participant says something.
+ * <p>
+ * Nodes are only touched while holding their {@link ConditionClause}'s lock.
+ */
+abstract class ConditionNode {
+
+    @Nullable
+    ConditionNode parent;
+    ConditionClause owner;
+    boolean value, settled, active;
+
+    ConditionNode(boolean value) {
+        this.value = value;
+    }
+
+    void activate(ConditionClause owner) {
+        this.owner = owner;
+        this.active = true;
+    }
+
+    void deactivate() {
+        this.active = false;
+    }
+
+    /**
+     * Adds the leaves of this subtree that want to see the participant's input.
+     */
+    void collectInputs(List<ConditionNode> inputs) {
+    }
+
+    void input(String input) {
+    }
+
+    void rejected() {
+    }
+
+    void childChanged(boolean value) {
+    }
+
+    void childSettled(ConditionNode child) {
+    }
+
+    final void set(boolean value) {
+        if (settled || this.value == value) return;
+        this.value = value;
+        if (parent != null) parent.childChanged(value);
+        else owner.rootChanged(value);
+    }
+
+    final void settle() {
+        if (settled) return;
+        settled = true;
+        deactivate();
+        if (parent != null) parent.childSettled(this);
+        else owner.rootSettled();
+    }
+
+    /**
+     * True while at least threshold of its children are, covers AND, OR and anything in between.
+     */
+    static final class Count extends ConditionNode {
+
+        private final ConditionNode[] children;
+        private final int threshold;
+        private int trueCount, settledTrue, settledFalse;
+
+        Count(ConditionNode[] children, int threshold) {
+            super(false);
+            this.children = children;
+            this.threshold = threshold;
+            for (ConditionNode child : children) {
+                child.parent = this;
+                if (child.value) trueCount++;
+            }
+            this.value = trueCount >= threshold;
+        }
+
+        @Override
+        void activate(ConditionClause owner) {
+            super.activate(owner);
+            for (ConditionNode child : children) {
+                // A child that settles right away can settle this node too
+                if (settled) return;
+                child.activate(owner);
+            }
+        }
+
+        @Override
+        void deactivate() {
+            super.deactivate();
+            for (ConditionNode child : children)
+                if (!child.settled && child.active) child.deactivate();
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            for (ConditionNode child : children)
+                child.collectInputs(inputs);
+        }
+
+        @Override
+        void childChanged(boolean value) {
+            trueCount += value ? 1 : -1;
+            set(trueCount >= threshold);
+        }
+
+        @Override
+        void childSettled(ConditionNode child) {
+            if (child.value) settledTrue++;
+            else settledFalse++;
+            // Short-circuits once enough children are stuck either way
+            if (settledTrue >= threshold || settledFalse > children.length - threshold) settle();
+        }
+    }
+
+    static final class Not extends ConditionNode {
+
+        private final ConditionNode child;
+
+        Not(ConditionNode child) {
+            super(!child.value);
+            this.child = child;
+            child.parent = this;
+        }
+
+        @Override
+        void activate(ConditionClause owner) {
+            super.activate(owner);
+            child.activate(owner);
+        }
+
+        @Override
+        void deactivate() {
+            super.deactivate();
+            if (!child.settled && child.active) child.deactivate();
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            child.collectInputs(inputs);
+        }
+
+        @Override
+        void childChanged(boolean value) {
+            set(!value);
+        }
+
+        @Override
+        void childSettled(ConditionNode child) {
+            settle();
+        }
+    }
+
+    /**
+     * True until the participant sends their first line.
+     */
+    static final class NoInput extends ConditionNode {
+
+        NoInput() {
+            super(true);
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            inputs.add(this);
+        }
+
+        @Override
+        void input(String input) {
+            set(false);
+            settle();
+        }
+    }
+
+    /**
+     * Becomes true once enough lines were sent, or rejected.
+     */
+    static final class InputCount extends ConditionNode {
+
+        private final int count;
+        private final boolean rejectedOnly;
+        private int seen;
+
+        InputCount(int count, boolean rejectedOnly) {
+            super(false);
+            this.count = count;
+            this.rejectedOnly = rejectedOnly;
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            inputs.add(this);
+        }
+
+        @Override
+        void input(String input) {
+            if (!rejectedOnly) count();
+        }
+
+        @Override
+        void rejected() {
+            if (rejectedOnly) count();
+        }
+
+        private void count() {
+            if (++seen < count) return;
+            set(true);
+            settle();
+        }
+    }
+
+    /**
+     * Becomes true once one of the keywords is sent, ignoring case and surrounding whitespace.
+     */
+    static final class Keyword extends ConditionNode {
+
+        private final String[] keywords;
+
+        Keyword(String[] keywords) {
+            super(false);
+            this.keywords = keywords;
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            inputs.add(this);
+        }
+
+        @Override
+        void input(String input) {
+            String line = input.strip();
+            for (String keyword : keywords) {
+                if (!line.equalsIgnoreCase(keyword)) continue;
+                set(true);
+                settle();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Becomes true once a regular clause triggers, e.g a {@link TimeClause}.
+     */
+    static final class ClauseLeaf extends ConditionNode {
+
+        private final Clause clause;
+        @Nullable
+        private Clause.Reactive reactive;
+
+        ClauseLeaf(Clause clause) {
+            super(false);
+            this.clause = clause;
+        }
+
+        @Override
+        void activate(ConditionClause owner) {
+            super.activate(owner);
+            reactive = Conversations.reactive(clause);
+            reactive.activate(() -> owner.fired(this));
+        }
+
+        @Override
+        void deactivate() {
+            super.deactivate();
+            if (reactive != null) reactive.deactivate();
+        }
+
+        @Override
+        void collectInputs(List<ConditionNode> inputs) {
+            if (clause instanceof Clause.InputAware) inputs.add(this);
+        }
+
+        @Override
+        void input(String input) {
+            if (((Clause.InputAware) clause).input(input)) fired();
+        }
+
+        @Override
+        void rejected() {
+            if (((Clause.InputAware) clause).rejected()) fired();
+        }
+
+        void fired() {
+            owner.firing = clause;
+            try {
+                set(true);
+                settle();
+            } finally {
+                owner.firing = null;
+            }
+        }
+    }
+}
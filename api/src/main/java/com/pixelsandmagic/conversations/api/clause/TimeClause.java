@@ -3,28 +3,37 @@ package com.gigabitwize.conversations.api.clause;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Created by Giovanni on 2/9/2023
  */
-public class TimeClause implements Clause.Ticking {
+public class TimeClause implements Clause.Timed {
 
     private final Component triggerMessage;
     private final long max;
-    private long current;
+    private volatile long deadline;
+    private volatile boolean started;
 
     public TimeClause(long millis, @Nullable Component clauseTriggerMsg) {
-        this.max = millis;
+        this.max = TimeUnit.MILLISECONDS.toNanos(millis);
         this.triggerMessage = clauseTriggerMsg;
     }
 
     @Override
-    public void tick() {
-        current++;
+    public void start(long now) {
+        this.deadline = now + max;
+        this.started = true;
+    }
+
+    @Override
+    public long getDeadline() {
+        return deadline;
     }
 
     @Override
     public boolean hasBeenTriggered() {
-        return current >= max;
+        return started && System.nanoTime() - deadline >= 0;
     }
 
     @Override
@@ -0,0 +1,25 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Recorded on the thread that fired the clause, e.g the scheduler for a TimeClause, before the trigger reaches the conversation.
+ */
+@Name("conversations.ClauseTrigger")
+@Label("Clause Trigger")
+@Category("Conversations")
+@Description("An end clause of a conversation fired")
+public final class ClauseTriggerEvent extends Event {
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Clause")
+    String clause;
+}
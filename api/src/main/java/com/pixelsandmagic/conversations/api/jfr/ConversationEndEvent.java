@@ -0,0 +1,46 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+@Name("conversations.ConversationEnd")
+@Label("Conversation End")
+@Category("Conversations")
+@Description("A conversation ended, and was unregistered")
+@StackTrace(false)
+public final class ConversationEndEvent extends Event {
+
+    public static final String COMPLETED = "Completed";
+    public static final String OUT_OF_ATTEMPTS = "Out of attempts";
+    public static final String CHECKPOINTED = "Checkpointed";
+    public static final String QUIT = "Quit";
+    public static final String IDLE = "Idle";
+    public static final String EVICTED = "Evicted";
+    public static final String ENDED = "Ended";
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Prompt")
+    @Description("The prompt the conversation was at")
+    int promptId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Reason")
+    @Description("Completed, Out of attempts, Checkpointed, Quit, Idle, Evicted, Ended or the clause that triggered")
+    String reason;
+
+    @Label("Lifetime")
+    @Timespan
+    long lifetime;
+}
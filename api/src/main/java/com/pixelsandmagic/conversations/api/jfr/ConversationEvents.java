@@ -0,0 +1,168 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import com.gigabitwize.conversations.api.clause.Clause;
+import jdk.jfr.FlightRecorder;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Records the conversation lifecycle as JDK Flight Recorder events, e.g;
+ * java -XX:StartFlightRecording:filename=conversations.jfr ...
+ * jfr print --categories Conversations conversations.jfr
+ * <p>
+ * Each event type is checked through a probe instance first, so nothing is allocated or timed while it's disabled.
+ * The probes are only created once the flight recorder has been initialized.
+ * Events are enabled by default whenever a recording runs, disable them in the recording's settings, e.g
+ * conversations.Input#enabled=false.
+ */
+@ApiStatus.Internal
+public final class ConversationEvents {
+
+    // The input event of the input being handled on this thread, only set while input events are enabled
+    private static final ThreadLocal<InputEvent> HANDLING = new ThreadLocal<>();
+
+    private ConversationEvents() {
+    }
+
+    public static void started(UUID participant, boolean resumed) {
+        if (!recording() || !Probes.START.isEnabled()) return;
+        ConversationStartEvent event = new ConversationStartEvent();
+        event.participant = participant.toString();
+        event.resumed = resumed;
+        event.commit();
+    }
+
+    /**
+     * @param startedAt {@link #now()} when the conversation started.
+     */
+    public static void ended(UUID participant, int promptId, int attempt, String reason, long startedAt) {
+        if (!recording() || !Probes.END.isEnabled()) return;
+        ConversationEndEvent event = new ConversationEndEvent();
+        event.participant = participant.toString();
+        event.promptId = promptId;
+        event.attempt = attempt;
+        event.reason = reason;
+        event.lifetime = startedAt == 0L ? 0L : System.nanoTime() - startedAt;
+        event.commit();
+    }
+
+    public static void promptDisplayed(UUID participant, int promptId) {
+        if (!recording() || !Probes.DISPLAY.isEnabled()) return;
+        PromptDisplayEvent event = new PromptDisplayEvent();
+        event.participant = participant.toString();
+        event.promptId = promptId;
+        event.commit();
+    }
+
+    /**
+     * Starts timing input that's about to be queued, the event's duration is the time spent handling it.
+     *
+     * @return Null if input events are disabled.
+     */
+    public static @Nullable InputEvent inputReceived(String input) {
+        if (!recording() || !Probes.INPUT.isEnabled()) return null;
+        InputEvent event = new InputEvent();
+        event.length = input.length();
+        event.outcome = InputEvent.IGNORED;
+        // Holds the time it was received until it's handled
+        event.queueTime = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Called on the conversation's thread when the input is about to be handled.
+     */
+    public static void handlingInput(InputEvent event, UUID participant, int promptId, int attempt) {
+        event.participant = participant.toString();
+        event.promptId = promptId;
+        event.attempt = attempt;
+        event.queueTime = System.nanoTime() - event.queueTime;
+        event.begin();
+        HANDLING.set(event);
+    }
+
+    /**
+     * Sets the outcome of the input being handled on this thread, if it's being recorded.
+     */
+    public static void inputOutcome(String outcome) {
+        if (!recording() || !Probes.INPUT.isEnabled()) return;
+        InputEvent event = HANDLING.get();
+        if (event != null) event.outcome = outcome;
+    }
+
+    public static void inputHandled(InputEvent event) {
+        HANDLING.remove();
+        event.commit();
+    }
+
+    /**
+     * Starts timing a fetch.
+     *
+     * @return Null if fetch events are disabled.
+     */
+    public static @Nullable FetchEvent fetching() {
+        if (!recording() || !Probes.FETCH.isEnabled()) return null;
+        FetchEvent event = new FetchEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void fetched(FetchEvent event, UUID participant, int promptId, boolean async) {
+        event.participant = participant.toString();
+        event.promptId = promptId;
+        event.async = async;
+        event.commit();
+    }
+
+    /**
+     * @param submittedAt {@link #now()} when the validation was submitted.
+     */
+    public static void validated(UUID participant, int promptId, int attempt, String outcome, long submittedAt) {
+        if (!recording() || !Probes.VALIDATION.isEnabled()) return;
+        ValidationEvent event = new ValidationEvent();
+        event.participant = participant.toString();
+        event.promptId = promptId;
+        event.attempt = attempt;
+        event.outcome = outcome;
+        event.validationTime = submittedAt == 0L ? 0L : System.nanoTime() - submittedAt;
+        event.commit();
+    }
+
+    public static void clauseTriggered(UUID participant, Clause clause) {
+        if (!recording() || !Probes.CLAUSE.isEnabled()) return;
+        ClauseTriggerEvent event = new ClauseTriggerEvent();
+        event.participant = participant.toString();
+        event.clause = clause.getClass().getName();
+        event.commit();
+    }
+
+    /**
+     * Whether the flight recorder has been initialized, which happens when the first recording starts. Until then
+     * the event classes aren't loaded at all, loading them initializes the flight recorder which takes a while.
+     */
+    private static boolean recording() {
+        return FlightRecorder.isInitialized();
+    }
+
+    /**
+     * Returns {@link System#nanoTime()} if lifecycle or validation events are enabled, to time them with, or 0 otherwise.
+     */
+    public static long now() {
+        return recording() && (Probes.END.isEnabled() || Probes.VALIDATION.isEnabled()) ? System.nanoTime() : 0L;
+    }
+
+    private static final class Probes {
+
+        private static final ConversationStartEvent START = new ConversationStartEvent();
+        private static final ConversationEndEvent END = new ConversationEndEvent();
+        private static final PromptDisplayEvent DISPLAY = new PromptDisplayEvent();
+        private static final InputEvent INPUT = new InputEvent();
+        private static final FetchEvent FETCH = new FetchEvent();
+        private static final ValidationEvent VALIDATION = new ValidationEvent();
+        private static final ClauseTriggerEvent CLAUSE = new ClauseTriggerEvent();
+    }
+}
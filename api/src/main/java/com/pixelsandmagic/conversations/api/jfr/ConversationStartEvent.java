@@ -0,0 +1,25 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+@Name("conversations.ConversationStart")
+@Label("Conversation Start")
+@Category("Conversations")
+@Description("A conversation started, or resumed from a stored session")
+@StackTrace(false)
+public final class ConversationStartEvent extends Event {
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Resumed")
+    boolean resumed;
+}
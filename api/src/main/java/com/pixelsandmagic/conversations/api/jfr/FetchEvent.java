@@ -0,0 +1,28 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+@Name("conversations.Fetch")
+@Label("Fetch")
+@Category("Conversations")
+@Description("A prompt's fetch ran, an async fetch only spans its launch")
+@StackTrace(false)
+public final class FetchEvent extends Event {
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Prompt")
+    int promptId;
+
+    @Label("Async")
+    boolean async;
+}
@@ -0,0 +1,53 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Spans the handling of input by the conversation, its duration doesn't include the time it waited
+ * in the conversation's mailbox, that's in the queue time. The event's thread is the one that handled it.
+ */
+@Name("conversations.Input")
+@Label("Input")
+@Category("Conversations")
+@Description("Input was forwarded to a conversation and handled")
+@StackTrace(false)
+public final class InputEvent extends Event {
+
+    public static final String ACCEPTED = "Accepted";
+    public static final String CONVERSION_FAILED = "Conversion failed";
+    public static final String FILTER_FAILED = "Filter failed";
+    public static final String PENDING = "Pending async validation";
+    public static final String QUEUED = "Queued";
+    public static final String OUT_OF_ATTEMPTS = "Out of attempts";
+    public static final String IGNORED = "Ignored";
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Prompt")
+    int promptId;
+
+    @Label("Attempt")
+    @Description("The attempt this input was, if the prompt handled it")
+    int attempt;
+
+    @Label("Length")
+    @Description("Length of the input, in characters")
+    int length;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Queue Time")
+    @Description("Time between the input being forwarded and it being handled")
+    @Timespan
+    long queueTime;
+}
@@ -0,0 +1,25 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+@Name("conversations.PromptDisplay")
+@Label("Prompt Display")
+@Category("Conversations")
+@Description("A prompt was displayed to its participant")
+@StackTrace(false)
+public final class PromptDisplayEvent extends Event {
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Prompt")
+    int promptId;
+}
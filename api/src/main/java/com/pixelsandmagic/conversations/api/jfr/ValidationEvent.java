@@ -0,0 +1,41 @@
+package com.gigabitwize.conversations.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+@Name("conversations.AsyncValidation")
+@Label("Async Validation")
+@Category("Conversations")
+@Description("The result of a prompt's async converter, filter and fetch was handed back to the conversation")
+@StackTrace(false)
+public final class ValidationEvent extends Event {
+
+    public static final String TIMED_OUT = "Timed out";
+    public static final String FAILED = "Failed";
+
+    @Label("Participant")
+    String participant;
+
+    @Label("Prompt")
+    int promptId;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Outcome")
+    @Description("Passed, Fetched, Conversion failed, Filter failed, Timed out or Failed")
+    String outcome;
+
+    @Label("Validation Time")
+    @Description("Time between the validation being submitted and its result being handled")
+    @Timespan
+    long validationTime;
+}
@@ -0,0 +1,102 @@
+package com.gigabitwize.conversations.api.metrics;
+
+import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.clause.Clause;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Sink for metrics about conversations, installed through {@link Conversations#metrics(ConversationsMetrics)}.
+ * Every method is called inline on the thread that processes the conversation, so implementations
+ * should be lock-free, see {@link DefaultConversationsMetrics}.
+ * <p>
+ * All durations are in nanoseconds.
+ */
+public interface ConversationsMetrics {
+
+    /**
+     * Installed by default, records nothing. Durations aren't even measured while this is installed.
+     */
+    ConversationsMetrics NOOP = new ConversationsMetrics() {
+    };
+
+    default void conversationStarted() {
+    }
+
+    /**
+     * A conversation ran out of prompts and finished normally.
+     */
+    default void conversationCompleted() {
+    }
+
+    /**
+     * A conversation was ended by one of its end clauses.
+     *
+     * @param clause The clause that triggered, e.g a {@link com.gigabitwize.conversations.api.clause.TimeClause}.
+     *               For a condition, the part that made it trigger is in {@link com.gigabitwize.conversations.api.clause.ConditionClause#getTriggeredBy()}.
+     */
+    default void clauseTriggered(Clause clause) {
+    }
+
+    /**
+     * A conversation was ended because the participant used up all of a prompt's attempts.
+     */
+    default void attemptsExhausted() {
+    }
+
+    /**
+     * A prompt's converter threw, or returned null.
+     */
+    default void conversionFailed() {
+    }
+
+    /**
+     * A prompt's filter rejected the converted input.
+     */
+    default void filterFailed() {
+    }
+
+    /**
+     * A prompt's async converter, filter and fetch took longer than the prompt's timeout.
+     */
+    default void validationTimedOut() {
+    }
+
+    /**
+     * A conversation was ended by the registry rather than by itself, because the participant quit,
+     * it sat idle for too long, or it was evicted to make room, see {@link Conversations#maxConversations}.
+     */
+    default void conversationEvicted() {
+    }
+
+    /**
+     * A conversation wasn't started because the max. amount of conversations were running, see {@link Conversations#maxConversations}.
+     */
+    default void conversationRejected() {
+    }
+
+    /**
+     * A participant's input was over the {@link com.gigabitwize.conversations.api.RateLimit}, and was dropped
+     * before it got handled. Coalesced input counts when it's replaced by a newer line.
+     */
+    default void inputDropped() {
+    }
+
+    /**
+     * Time spent on a single task in a conversation's mailbox, e.g handling input or a clause trigger.
+     */
+    default void recordProcessing(long nanos) {
+    }
+
+    /**
+     * Time spent converting, filtering and fetching a single input.
+     */
+    default void recordInputHandling(long nanos) {
+    }
+
+    /**
+     * Time between a prompt being displayed and it being answered successfully.
+     */
+    default void recordAnswerLatency(long nanos) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.gigabitwize.conversations.api.metrics;
+
+import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.clause.Clause;
+import com.gigabitwize.conversations.api.clause.ConditionClause;
+import com.gigabitwize.conversations.api.clause.TimeClause;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * {@link ConversationsMetrics} backed by {@link LongAdder}s and {@link LatencyHistogram}s.
+ * <p>
+ * e.g;
+ * DefaultConversationsMetrics metrics = new DefaultConversationsMetrics();
+ * Conversations.metrics(metrics);
+ * ...
+ * MetricsSnapshot snapshot = metrics.snapshot();
+ */
+public class DefaultConversationsMetrics implements ConversationsMetrics {
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder clauseTriggered = new LongAdder();
+    private final LongAdder attemptsExhausted = new LongAdder();
+    private final LongAdder conversionFailures = new LongAdder();
+    private final LongAdder filterFailures = new LongAdder();
+    private final LongAdder validationTimeouts = new LongAdder();
+    private final LongAdder inputDropped = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private final LatencyHistogram processing = new LatencyHistogram();
+    private final LatencyHistogram inputHandling = new LatencyHistogram();
+    private final LatencyHistogram answerLatency = new LatencyHistogram();
+
+    @Override
+    public void conversationStarted() {
+        started.increment();
+    }
+
+    @Override
+    public void conversationCompleted() {
+        completed.increment();
+    }
+
+    @Override
+    public void clauseTriggered(Clause clause) {
+        clauseTriggered.increment();
+        // A timer inside a condition, e.g Condition.elapsed(...), is a timeout too
+        if (clause instanceof ConditionClause condition) clause = condition.getTriggeredBy();
+        if (clause instanceof TimeClause) timedOut.increment();
+    }
+
+    @Override
+    public void attemptsExhausted() {
+        attemptsExhausted.increment();
+    }
+
+    @Override
+    public void conversionFailed() {
+        conversionFailures.increment();
+    }
+
+    @Override
+    public void filterFailed() {
+        filterFailures.increment();
+    }
+
+    @Override
+    public void validationTimedOut() {
+        validationTimeouts.increment();
+    }
+
+    @Override
+    public void conversationEvicted() {
+        evicted.increment();
+    }
+
+    @Override
+    public void conversationRejected() {
+        rejected.increment();
+    }
+
+    @Override
+    public void inputDropped() {
+        inputDropped.increment();
+    }
+
+    @Override
+    public void recordProcessing(long nanos) {
+        processing.record(nanos);
+    }
+
+    @Override
+    public void recordInputHandling(long nanos) {
+        inputHandling.record(nanos);
+    }
+
+    @Override
+    public void recordAnswerLatency(long nanos) {
+        answerLatency.record(nanos);
+    }
+
+    /**
+     * Takes a snapshot of all metrics. Counters are read one by one, so the snapshot isn't atomic.
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(Conversations.getActiveCount(),
+                started.sum(),
+                completed.sum(),
+                timedOut.sum(),
+                clauseTriggered.sum(),
+                attemptsExhausted.sum(),
+                conversionFailures.sum(),
+                filterFailures.sum(),
+                validationTimeouts.sum(),
+                inputDropped.sum(),
+                evicted.sum(),
+                rejected.sum(),
+                MetricsSnapshot.Distribution.of(processing),
+                MetricsSnapshot.Distribution.of(inputHandling),
+                MetricsSnapshot.Distribution.of(answerLatency));
+    }
+}
@@ -0,0 +1,37 @@
+package com.gigabitwize.conversations.api.metrics;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Point-in-time copy of {@link DefaultConversationsMetrics}, meant to be exported to your own monitoring.
+ */
+public record MetricsSnapshot(long active,
+                              long started,
+                              long completed,
+                              long timedOut,
+                              long clauseTriggered,
+                              long attemptsExhausted,
+                              long conversionFailures,
+                              long filterFailures,
+                              long validationTimeouts,
+                              long inputDropped,
+                              long evicted,
+                              long rejected,
+                              Distribution processing,
+                              Distribution inputHandling,
+                              Distribution answerLatency) {
+
+    /**
+     * Summary of a {@link LatencyHistogram}, all values in nanoseconds.
+     */
+    public record Distribution(long count, double mean, long p50, long p99, long p999, long max) {
+
+        static Distribution of(LatencyHistogram histogram) {
+            return new Distribution(histogram.getCount(), histogram.getMean(),
+                    histogram.getValueAtPercentile(50D),
+                    histogram.getValueAtPercentile(99D),
+                    histogram.getValueAtPercentile(99.9D),
+                    histogram.getMax());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Writes a prompt's converted answer to the {@link ConversationJournal} or a {@link ConversationStore}, and reads it back.
+ */
+public interface AnswerCodec<A> {
+
+    AnswerCodec<String> STRING = of(DataOutput::writeUTF, DataInput::readUTF);
+    AnswerCodec<Integer> INTEGER = of(DataOutput::writeInt, DataInput::readInt);
+    AnswerCodec<Long> LONG = of(DataOutput::writeLong, DataInput::readLong);
+    AnswerCodec<Double> DOUBLE = of(DataOutput::writeDouble, DataInput::readDouble);
+    AnswerCodec<Boolean> BOOLEAN = of(DataOutput::writeBoolean, DataInput::readBoolean);
+    AnswerCodec<UUID> UUID = of((out, uuid) -> {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }, in -> new UUID(in.readLong(), in.readLong()));
+
+    void write(DataOutput out, A answer) throws IOException;
+
+    A read(DataInput in) throws IOException;
+
+    default byte[] encode(A answer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+            write(new DataOutputStream(bytes), answer);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    default A decode(byte[] answer) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(answer)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static <A> AnswerCodec<A> of(Writer<A> writer, Reader<A> reader) {
+        return new AnswerCodec<>() {
+            @Override
+            public void write(DataOutput out, A answer) throws IOException {
+                writer.write(out, answer);
+            }
+
+            @Override
+            public A read(DataInput in) throws IOException {
+                return reader.read(in);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Writer<A> {
+
+        void write(DataOutput out, A answer) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Reader<A> {
+
+        A read(DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,505 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import com.gigabitwize.conversations.api.Conversation;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Append-only, memory-mapped journal of conversation state transitions, used to rebuild in-flight
+ * conversations after a restart. Only conversations marked with {@link Conversation#persistent(String)}
+ * are journaled, and only prompts with an {@link AnswerCodec} have their answers stored.
+ * <p>
+ * Conversations are rebuilt when their participant joins, through {@link com.gigabitwize.conversations.api.Conversations#resume(UUID)},
+ * so the prompt is displayed to someone who's there to see it. Call it for players that are already online, e.g after a reload.
+ * <p>
+ * Records are written on the journal's own thread, so chat handling never waits on the disk. The journal
+ * is compacted into the state of the conversations that are still running whenever it fills up, and periodically.
+ * Compaction alternates between the journal's file and a twin next to it (.alt), the one with the newest generation
+ * in its header is read on startup. Files are never moved or truncated, which fails on Windows while they're mapped.
+ * <p>
+ * e.g;
+ * ConversationJournal journal = ConversationJournal.open(getDataFolder().toPath().resolve("conversations.journal"));
+ * journal.register("onboarding", participant -> new Conversation(participant).prompt(...));
+ * Conversations.init(provider, journal);
+ */
+public final class ConversationJournal {
+
+    private static final int MAGIC = 0x434A5232; // CJR2
+    // Magic, then the generation, which only becomes valid once a compaction has written the whole file
+    private static final int GENERATION_OFFSET = Integer.BYTES;
+    private static final int HEADER_SIZE = GENERATION_OFFSET + Long.BYTES;
+    private static final int DEFAULT_CAPACITY = 4 * 1024 * 1024;
+    private static final long COMPACT_INTERVAL_SECONDS = 300L;
+
+    private static final byte START = 1, PROMPT = 2, ATTEMPT = 3, ANSWER = 4, END = 5;
+
+    // The journal's file and its twin, see #compact()
+    private final Path[] files;
+    private final ConcurrentHashMap<String, Function<UUID, Conversation>> factories = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    private final AtomicLong nextId = new AtomicLong(1L);
+
+    // Only touched on the writer thread after recovery
+    private final HashMap<Long, State> live = new HashMap<>();
+    // Conversations in the journal that aren't running, until their participant joins
+    private final HashMap<UUID, ArrayList<Long>> parked = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity, current;
+    private long generation;
+    private boolean dirty;
+
+    private ConversationJournal(Path path) {
+        this.files = new Path[]{path, path.resolveSibling(path.getFileName() + ".alt")};
+        this.writer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "Conversations-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the journal at the given path, creating it if it doesn't exist yet.
+     */
+    public static ConversationJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Initial size of the journal file in bytes, it grows when the state of all running conversations doesn't fit.
+     */
+    public static ConversationJournal open(Path path, int capacity) throws IOException {
+        ConversationJournal journal = new ConversationJournal(path);
+        long first = readGeneration(journal.files[0]), second = readGeneration(journal.files[1]);
+        journal.current = second > first ? 1 : 0;
+        journal.generation = Math.max(1L, Math.max(first, second));
+        Path file = journal.files[journal.current];
+        journal.map(Math.max(capacity, (int) Math.min(Integer.MAX_VALUE, Files.exists(file) ? Files.size(file) : 0L)));
+        return journal;
+    }
+
+    /**
+     * Registers the factory used to rebuild conversations that were started with {@link Conversation#persistent(String)}.
+     * Has to be called before {@link #recover()}.
+     */
+    public ConversationJournal register(String key, Function<UUID, Conversation> factory) {
+        factories.put(key, factory);
+        return this;
+    }
+
+    /**
+     * Reads the journal, every conversation that was still in progress is rebuilt when its participant joins, see {@link #resume(UUID)}.
+     * Conversations of which the key has no registered factory are dropped.
+     */
+    public void recover() {
+        HashMap<Long, State> recovered = read();
+        recovered.values().removeIf(state -> !factories.containsKey(state.key));
+        // Start from a clean journal holding just the recovered state, before the conversations write to it again
+        writer.execute(() -> {
+            live.putAll(recovered);
+            for (Map.Entry<Long, State> entry : recovered.entrySet())
+                park(entry.getKey(), entry.getValue().participant);
+            compact();
+        });
+        writer.scheduleWithFixedDelay(() -> {
+            if (dirty) compact();
+        }, COMPACT_INTERVAL_SECONDS, COMPACT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Writes everything that's still queued and closes the journal. Conversations that are still running
+     * will be rebuilt by the next {@link #recover()}.
+     */
+    public void close() {
+        writer.execute(() -> {
+            buffer.force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5000, TimeUnit.MILLISECONDS))
+                writer.shutdownNow();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    //** INTERNAL **//
+
+    /**
+     * Runs the participant's conversations that are in the journal but not running, at the prompt and attempt
+     * they were left at. The conversations are built on the journal's thread.
+     */
+    @ApiStatus.Internal
+    public void resume(UUID participant) {
+        write(() -> {
+            ArrayList<Long> ids = parked.remove(participant);
+            if (ids == null) return;
+            for (long id : ids) {
+                State state = live.get(id);
+                if (state == null) continue;
+                try {
+                    Conversation conversation = factories.get(state.key).apply(participant).persistent(state.key);
+                    conversation.restore(id, state.promptId, state.attempt, state.answers);
+                    // Rejected because too many conversations are running, it's tried again on the next join
+                    if (!conversation.run()) park(id, participant);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    @ApiStatus.Internal
+    public long started(String key, UUID participant) {
+        long id = nextId.getAndIncrement();
+        write(() -> {
+            live.put(id, new State(key, participant));
+            writeStart(id, key, participant);
+        });
+        return id;
+    }
+
+    @ApiStatus.Internal
+    public void prompted(long id, int promptId) {
+        write(() -> {
+            State state = live.get(id);
+            if (state == null) return;
+            state.promptId = promptId;
+            state.attempt = 0;
+            int at = begin(PROMPT, id, Integer.BYTES);
+            buffer.putInt(promptId);
+            commit(at);
+        });
+    }
+
+    @ApiStatus.Internal
+    public void attempted(long id, int promptId, int attempt) {
+        write(() -> {
+            State state = live.get(id);
+            if (state == null) return;
+            state.attempt = attempt;
+            int at = begin(ATTEMPT, id, Integer.BYTES * 2);
+            buffer.putInt(promptId);
+            buffer.putInt(attempt);
+            commit(at);
+        });
+    }
+
+    @ApiStatus.Internal
+    public <A> void answered(long id, int promptId, A answer, AnswerCodec<A> codec) {
+        write(() -> {
+            State state = live.get(id);
+            if (state == null) return;
+            byte[] encoded;
+            try {
+                encoded = codec.encode(answer);
+            } catch (UncheckedIOException e) {
+                e.printStackTrace();
+                return;
+            }
+            state.answers.put(promptId, encoded);
+            int at = begin(ANSWER, id, Integer.BYTES + encoded.length);
+            buffer.putInt(promptId);
+            buffer.put(encoded);
+            commit(at);
+        });
+    }
+
+    /**
+     * Keeps a conversation that stopped running here in the journal, e.g because its participant quit,
+     * it's rebuilt when they join again.
+     */
+    @ApiStatus.Internal
+    public void parked(long id, UUID participant) {
+        write(() -> {
+            if (live.containsKey(id)) park(id, participant);
+        });
+    }
+
+    @ApiStatus.Internal
+    public void ended(long id) {
+        write(() -> {
+            if (live.remove(id) == null) return;
+            commit(begin(END, id, 0));
+            dirty = true;
+        });
+    }
+
+    /**
+     * Decodes an answer read from the journal.
+     */
+    @ApiStatus.Internal
+    public static <A> A decode(byte[] answer, AnswerCodec<A> codec) {
+        return codec.decode(answer);
+    }
+
+    /**
+     * Queues a task on the writer thread. Tasks that come in after {@link #close()}, e.g from mailboxes that are
+     * still draining, are dropped, the conversation is rebuilt from what was written before.
+     */
+    private void write(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    // ** WRITER THREAD ** //
+
+    private void park(long id, UUID participant) {
+        parked.computeIfAbsent(participant, key -> new ArrayList<>(1)).add(id);
+    }
+
+    /**
+     * Reserves room for a record and writes its header, the length is only written by {@link #commit(int)}
+     * so a record that was cut off by a crash reads as the end of the journal.
+     */
+    private int begin(byte type, long id, int payload) {
+        int size = Integer.BYTES + Byte.BYTES + Long.BYTES + payload;
+        if (buffer.remaining() < size + Integer.BYTES) {
+            compact();
+            if (buffer.remaining() < size + Integer.BYTES) grow(buffer.position() + size + Integer.BYTES);
+        }
+        int at = buffer.position();
+        buffer.position(at + Integer.BYTES);
+        buffer.put(type);
+        buffer.putLong(id);
+        return at;
+    }
+
+    private void commit(int at) {
+        // Files are reused, so whatever follows could be a record of an older generation, begin() left room for the end marker
+        buffer.putInt(buffer.position(), 0);
+        buffer.putInt(at, buffer.position() - at - Integer.BYTES);
+    }
+
+    private void writeStart(long id, String key, UUID participant) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int at = begin(START, id, Long.BYTES * 2 + Short.BYTES + keyBytes.length);
+        buffer.putLong(participant.getMostSignificantBits());
+        buffer.putLong(participant.getLeastSignificantBits());
+        buffer.putShort((short) keyBytes.length);
+        buffer.put(keyBytes);
+        commit(at);
+    }
+
+    /**
+     * Rewrites the journal to only hold the state of the conversations that are still running.
+     * The state is written to the twin file, which only takes over once it's complete and gets the next generation,
+     * so a crash halfway leaves the current file intact. The twin is overwritten in place rather than truncated,
+     * it might still be mapped from before the previous compaction.
+     */
+    private void compact() {
+        try {
+            int target = 1 - current;
+            int required = HEADER_SIZE + Integer.BYTES;
+            for (State state : live.values())
+                required += state.size();
+            // Keep at least half of the journal free for new records
+            int size = Math.max(capacity, required * 2);
+
+            try (FileChannel out = FileChannel.open(files[target], StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer compacted = out.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                compacted.putInt(0, MAGIC);
+                compacted.putLong(GENERATION_OFFSET, 0L);
+                compacted.putInt(HEADER_SIZE, 0);
+                compacted.position(HEADER_SIZE);
+                MappedByteBuffer previous = buffer;
+                buffer = compacted;
+                try {
+                    for (Map.Entry<Long, State> entry : live.entrySet())
+                        entry.getValue().write(this, entry.getKey());
+                    buffer.force();
+                    buffer.putLong(GENERATION_OFFSET, generation + 1L);
+                    buffer.force();
+                } finally {
+                    buffer = previous;
+                }
+            }
+            channel.close();
+            current = target;
+            generation++;
+            map(size);
+            skipRecords();
+            dirty = false;
+        } catch (IOException e) {
+            // Nothing on the writer thread would see it thrown, the journal keeps appending to the current file
+            e.printStackTrace();
+        }
+    }
+
+    private void grow(int required) {
+        try {
+            int size = Math.max(capacity * 2, required);
+            buffer.force();
+            channel.close();
+            int position = buffer.position();
+            map(size);
+            buffer.position(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void map(int size) throws IOException {
+        Path file = files[current];
+        boolean exists = Files.exists(file) && Files.size(file) >= HEADER_SIZE;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = size;
+        if (!exists || buffer.getInt(0) != MAGIC || buffer.getLong(GENERATION_OFFSET) <= 0L) {
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(GENERATION_OFFSET, generation);
+            buffer.putInt(HEADER_SIZE, 0);
+        }
+        buffer.position(HEADER_SIZE);
+    }
+
+    /**
+     * Returns the generation in the file's header, or 0 if it isn't a complete journal.
+     */
+    private static long readGeneration(Path file) throws IOException {
+        if (!Files.exists(file) || Files.size(file) < HEADER_SIZE) return 0L;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (in.read(header, 0L) < HEADER_SIZE) return 0L;
+            return header.getInt(0) == MAGIC ? Math.max(0L, header.getLong(GENERATION_OFFSET)) : 0L;
+        }
+    }
+
+    /**
+     * Moves the buffer's position past all committed records.
+     */
+    private void skipRecords() {
+        buffer.position(HEADER_SIZE);
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt(buffer.position());
+            if (length <= 0 || length > buffer.remaining() - Integer.BYTES) break;
+            buffer.position(buffer.position() + Integer.BYTES + length);
+        }
+    }
+
+    /**
+     * Replays the journal into the state of every conversation that didn't end.
+     */
+    private HashMap<Long, State> read() {
+        HashMap<Long, State> states = new HashMap<>();
+        long maxId = 0L;
+        buffer.position(HEADER_SIZE);
+        try {
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) break;
+                int end = buffer.position() + length;
+                byte type = buffer.get();
+                long id = buffer.getLong();
+                maxId = Math.max(maxId, id);
+
+                if (type == START) {
+                    UUID participant = new UUID(buffer.getLong(), buffer.getLong());
+                    byte[] key = new byte[buffer.getShort()];
+                    buffer.get(key);
+                    states.put(id, new State(new String(key, StandardCharsets.UTF_8), participant));
+                } else if (type == END) {
+                    states.remove(id);
+                } else {
+                    State state = states.get(id);
+                    if (state != null) {
+                        int promptId = buffer.getInt();
+                        if (type == PROMPT) {
+                            state.promptId = promptId;
+                            state.attempt = 0;
+                        } else if (type == ATTEMPT) {
+                            state.attempt = buffer.getInt();
+                        } else if (type == ANSWER) {
+                            byte[] answer = new byte[end - buffer.position()];
+                            buffer.get(answer);
+                            state.answers.put(promptId, answer);
+                        }
+                    }
+                }
+                buffer.position(end);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Torn record at the end of the journal, everything before it is intact
+        }
+        nextId.set(maxId + 1);
+        return states;
+    }
+
+    /**
+     * Last known state of a single conversation.
+     */
+    private static final class State {
+
+        private final String key;
+        private final UUID participant;
+        private int promptId, attempt;
+        private final LinkedHashMap<Integer, byte[]> answers = new LinkedHashMap<>();
+
+        private State(String key, UUID participant) {
+            this.key = key;
+            this.participant = participant;
+        }
+
+        private int size() {
+            int record = Integer.BYTES + Byte.BYTES + Long.BYTES;
+            int size = record + Long.BYTES * 2 + Short.BYTES + key.getBytes(StandardCharsets.UTF_8).length;
+            size += record + Integer.BYTES;
+            size += record + Integer.BYTES * 2;
+            for (byte[] answer : answers.values())
+                size += record + Integer.BYTES + answer.length;
+            return size;
+        }
+
+        private void write(ConversationJournal journal, long id) {
+            MappedByteBuffer buffer = journal.buffer;
+            journal.writeStart(id, key, participant);
+            int at;
+            for (Map.Entry<Integer, byte[]> answer : answers.entrySet()) {
+                at = journal.begin(ANSWER, id, Integer.BYTES + answer.getValue().length);
+                buffer.putInt(answer.getKey());
+                buffer.put(answer.getValue());
+                journal.commit(at);
+            }
+            if (promptId != 0) {
+                at = journal.begin(PROMPT, id, Integer.BYTES);
+                buffer.putInt(promptId);
+                journal.commit(at);
+                at = journal.begin(ATTEMPT, id, Integer.BYTES * 2);
+                buffer.putInt(promptId);
+                buffer.putInt(attempt);
+                journal.commit(at);
+            }
+        }
+    }
+}
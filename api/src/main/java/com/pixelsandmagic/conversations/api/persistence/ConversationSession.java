@@ -0,0 +1,72 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * The progress of a single persistent conversation, as handed to a {@link ConversationStore}. It's encoded
+ * into one flat array, sized up front, so saving a session is a single allocation and a single write.
+ *
+ * @param key     The key the conversation's factory is registered with.
+ * @param answers Encoded answers by prompt id, see {@link AnswerCodec}.
+ */
+public record ConversationSession(String key, UUID participant, int promptId, int attempt, Map<Integer, byte[]> answers) {
+
+    private static final byte VERSION = 1;
+
+    public byte[] encode() {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int size = Byte.BYTES + Short.BYTES + keyBytes.length + Long.BYTES * 2 + Integer.BYTES * 3;
+        for (byte[] answer : answers.values())
+            size += Integer.BYTES * 2 + answer.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.putShort((short) keyBytes.length);
+        buffer.put(keyBytes);
+        buffer.putLong(participant.getMostSignificantBits());
+        buffer.putLong(participant.getLeastSignificantBits());
+        buffer.putInt(promptId);
+        buffer.putInt(attempt);
+        buffer.putInt(answers.size());
+        for (Map.Entry<Integer, byte[]> answer : answers.entrySet()) {
+            buffer.putInt(answer.getKey());
+            buffer.putInt(answer.getValue().length);
+            buffer.put(answer.getValue());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException If the bytes aren't a session, or one of an unknown version.
+     */
+    public static ConversationSession decode(byte[] session) {
+        ByteBuffer buffer = ByteBuffer.wrap(session);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) throw new IllegalArgumentException("Unknown session version " + version);
+            byte[] keyBytes = new byte[buffer.getShort()];
+            buffer.get(keyBytes);
+            UUID participant = new UUID(buffer.getLong(), buffer.getLong());
+            int promptId = buffer.getInt();
+            int attempt = buffer.getInt();
+            int count = buffer.getInt();
+            LinkedHashMap<Integer, byte[]> answers = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                int answerPromptId = buffer.getInt();
+                byte[] answer = new byte[buffer.getInt()];
+                buffer.get(answer);
+                answers.put(answerPromptId, answer);
+            }
+            return new ConversationSession(new String(keyBytes, StandardCharsets.UTF_8), participant, promptId, attempt, answers);
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException illegalArgument) throw illegalArgument;
+            throw new IllegalArgumentException("Malformed session", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import com.gigabitwize.conversations.api.Conversations;
+
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Holds the {@link ConversationSession}s of persistent conversations outside of this server, so a player can
+ * pick their conversation up on another server of the network, see {@link Conversations#store(ConversationStore)}.
+ * <p>
+ * The API only talks to the store in the background, running conversations are always looked up locally.
+ * Operations for the same participant have to be applied in the order they're called.
+ */
+public interface ConversationStore {
+
+    /**
+     * Stores the participant's encoded session, replacing the one that was stored before.
+     */
+    CompletionStage<Void> save(UUID participant, byte[] session);
+
+    /**
+     * Loads the participant's encoded session.
+     *
+     * @return A stage that completes with null if there's none.
+     */
+    CompletionStage<byte[]> load(UUID participant);
+
+    /**
+     * Deletes the participant's session, because their conversation ended.
+     */
+    CompletionStage<Void> delete(UUID participant);
+
+    /**
+     * Called when the store is replaced or the API is cleaned up.
+     */
+    default void close() {
+    }
+}
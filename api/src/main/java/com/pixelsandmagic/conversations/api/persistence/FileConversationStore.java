@@ -0,0 +1,91 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link ConversationStore} that keeps one file per participant in a directory. Servers that share the
+ * directory, e.g several local test servers behind a proxy, share their sessions. Files are written next to
+ * their target and moved over it, so a reader never sees half a session.
+ * <p>
+ * All operations run on the store's own thread, in the order they're called.
+ */
+public class FileConversationStore implements ConversationStore {
+
+    private final Path directory;
+    private final ExecutorService io;
+
+    public FileConversationStore(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.io = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "Conversations-Store");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> save(UUID participant, byte[] session) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Path file = fileOf(participant);
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, session);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, io);
+    }
+
+    @Override
+    public CompletionStage<byte[]> load(UUID participant) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.readAllBytes(fileOf(participant));
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, io);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(UUID participant) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.deleteIfExists(fileOf(participant));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, io);
+    }
+
+    @Override
+    public void close() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5000, TimeUnit.MILLISECONDS))
+                io.shutdownNow();
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Path fileOf(UUID participant) {
+        return directory.resolve(participant + ".session");
+    }
+}
@@ -0,0 +1,38 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link ConversationStore} that keeps the sessions in memory. Sessions only survive a server switch
+ * when the servers share this instance, e.g in tests, or within a single server across reloads.
+ */
+public class InMemoryConversationStore implements ConversationStore {
+
+    private final ConcurrentHashMap<UUID, byte[]> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletionStage<Void> save(UUID participant, byte[] session) {
+        sessions.put(participant, session);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletionStage<byte[]> load(UUID participant) {
+        return CompletableFuture.completedFuture(sessions.get(participant));
+    }
+
+    @Override
+    public CompletionStage<Void> delete(UUID participant) {
+        sessions.remove(participant);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
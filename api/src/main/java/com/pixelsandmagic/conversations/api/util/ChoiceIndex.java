@@ -0,0 +1,336 @@
+package com.gigabitwize.conversations.api.util;
+
+import com.gigabitwize.conversations.api.persistence.AnswerCodec;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * An immutable set of named options compiled into a prefix trie, used by a {@link com.gigabitwize.conversations.api.ChoicePrompt}.
+ * Build it once and share it between all prompts that offer the same options, e.g all materials or all warps.
+ * <p>
+ * Names are matched case-insensitively, and spaces, dashes and underscores are treated as the same character,
+ * so "diamond sword" matches DIAMOND_SWORD. Input is resolved by, in order;
+ * an exact name, a prefix that only one name starts with, or a single closest name within the allowed edit distance.
+ * Looking up a name or prefix walks the trie once, so it takes time proportional to the input's length.
+ */
+public final class ChoiceIndex<T> {
+
+    private final String[] names;
+    private final Object[] values;
+    private final HashMap<Object, Integer> valueIndex;
+    private final int maxNameLength;
+
+    // The trie, node 0 is the root. The edges of a node are stored next to each other, sorted by character.
+    private final int[] edgeStart, edgeEnd;
+    private final char[] edgeChar;
+    private final int[] edgeTarget;
+    // The option that ends at a node or -1, how many options are below a node, and one of them
+    private final int[] option, count, any;
+
+    private ChoiceIndex(Map<String, T> options) {
+        LinkedHashMap<String, Integer> folded = new LinkedHashMap<>();
+        ArrayList<String> nameList = new ArrayList<>(options.size());
+        ArrayList<Object> valueList = new ArrayList<>(options.size());
+        for (Map.Entry<String, T> entry : options.entrySet()) {
+            String key = fold(entry.getKey());
+            if (key.isEmpty() || folded.containsKey(key)) continue;
+            folded.put(key, nameList.size());
+            nameList.add(entry.getKey());
+            valueList.add(entry.getValue());
+        }
+        this.names = nameList.toArray(new String[0]);
+        this.values = valueList.toArray();
+        this.valueIndex = new HashMap<>(values.length * 2);
+        for (int i = 0; i < values.length; i++)
+            valueIndex.putIfAbsent(values[i], i);
+
+        // Inserting the names sorted means a node's children are added in order, and only the last one can be shared
+        ArrayList<String> sorted = new ArrayList<>(folded.keySet());
+        Collections.sort(sorted);
+        Node root = new Node();
+        int nodes = 1, longest = 0;
+        for (String key : sorted) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                if (node.size > 0 && node.chars[node.size - 1] == c) {
+                    node = node.children[node.size - 1];
+                    continue;
+                }
+                node = node.add(c);
+                nodes++;
+            }
+            node.option = folded.get(key);
+            longest = Math.max(longest, key.length());
+        }
+        this.maxNameLength = longest;
+
+        // Flatten breadth first, so every node's children get consecutive ids
+        edgeStart = new int[nodes];
+        edgeEnd = new int[nodes];
+        edgeChar = new char[nodes - 1];
+        edgeTarget = new int[nodes - 1];
+        option = new int[nodes];
+        count = new int[nodes];
+        any = new int[nodes];
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        int nextId = 1, edges = 0;
+        for (int id = 0; id < nodes; id++) {
+            Node node = queue.poll();
+            option[id] = node.option;
+            edgeStart[id] = edges;
+            for (int child = 0; child < node.size; child++) {
+                edgeChar[edges] = node.chars[child];
+                edgeTarget[edges++] = nextId++;
+                queue.add(node.children[child]);
+            }
+            edgeEnd[id] = edges;
+        }
+        // Children always have a higher id than their parent, so counting backwards visits them first
+        for (int id = nodes - 1; id >= 0; id--) {
+            count[id] = option[id] >= 0 ? 1 : 0;
+            any[id] = option[id];
+            for (int edge = edgeStart[id]; edge < edgeEnd[id]; edge++) {
+                int child = edgeTarget[edge];
+                count[id] += count[child];
+                if (any[id] < 0) any[id] = any[child];
+            }
+        }
+    }
+
+    /**
+     * @param options The options by their name.
+     */
+    public static <T> ChoiceIndex<T> of(Map<String, T> options) {
+        return new ChoiceIndex<>(options);
+    }
+
+    public static <T> ChoiceIndex<T> of(Collection<T> options, Function<T, String> name) {
+        LinkedHashMap<String, T> named = new LinkedHashMap<>();
+        for (T option : options)
+            named.putIfAbsent(name.apply(option), option);
+        return new ChoiceIndex<>(named);
+    }
+
+    /**
+     * e.g ChoiceIndex.of(Material.class)
+     */
+    public static <E extends Enum<E>> ChoiceIndex<E> of(Class<E> enumType) {
+        return of(EnumSet.allOf(enumType), Enum::name);
+    }
+
+    /**
+     * Resolves the input to a single option.
+     *
+     * @param maxDistance Max. amount of typos, see {@link #suggest(String, int, int)}. 0 to only match names and prefixes.
+     * @return Null if the input doesn't resolve to exactly one option.
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T resolve(String input, int maxDistance) {
+        int match = match(input, maxDistance);
+        return match < 0 ? null : (T) values[match];
+    }
+
+    /**
+     * Returns the names of the options the input might have meant, e.g when it didn't resolve. If the input is
+     * a prefix, the names starting with it, otherwise the names within the given edit distance, closest first.
+     */
+    public List<String> suggest(String input, int maxDistance, int limit) {
+        ArrayList<String> suggestions = new ArrayList<>(Math.min(limit, 8));
+        if (limit <= 0) return suggestions;
+        int node = walk(input);
+        if (node > 0) {
+            collect(node, suggestions, limit);
+            return suggestions;
+        }
+        for (long candidate : closest(fold(input), maxDistance, limit))
+            suggestions.add(names[(int) candidate]);
+        return suggestions;
+    }
+
+    /**
+     * Returns the name the given option was registered with.
+     */
+    public @Nullable String nameOf(T value) {
+        Integer index = valueIndex.get(value);
+        return index == null ? null : names[index];
+    }
+
+    /**
+     * Returns a codec that stores an option by its name, for {@link com.gigabitwize.conversations.api.Prompt#codec(AnswerCodec)}.
+     * A value that isn't one of the options is stored without a name, and read back as null.
+     */
+    public AnswerCodec<T> codec() {
+        return AnswerCodec.of((DataOutput out, T value) -> {
+            String name = nameOf(value);
+            out.writeUTF(name == null ? "" : name);
+        }, (DataInput in) -> resolve(in.readUTF(), 0));
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Folds a name the way it's stored in the index.
+     */
+    public static String fold(String name) {
+        String trimmed = name.trim();
+        char[] chars = new char[trimmed.length()];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = fold(trimmed.charAt(i));
+        return new String(chars);
+    }
+
+    //** INTERNAL **//
+    private static char fold(char c) {
+        if (c == ' ' || c == '-') return '_';
+        return Character.toLowerCase(c);
+    }
+
+    private int match(String input, int maxDistance) {
+        int node = walk(input);
+        if (node > 0) {
+            if (option[node] >= 0) return option[node];
+            return count[node] == 1 ? any[node] : -1;
+        }
+        if (node == 0 || maxDistance <= 0) return -1;
+        long[] closest = closest(fold(input), maxDistance, 2);
+        // Only a single closest option is a match, two equally close ones are ambiguous
+        if (closest.length == 0 || (closest.length == 2 && (closest[0] >>> 32) == (closest[1] >>> 32))) return -1;
+        return (int) closest[0];
+    }
+
+    /**
+     * Walks the trie along the folded input.
+     *
+     * @return The node the input ends at, 0 if the input is empty or -1 if no name starts with it.
+     */
+    private int walk(String input) {
+        int start = 0, end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            node = child(node, fold(input.charAt(i)));
+            if (node < 0) return -1;
+        }
+        return node;
+    }
+
+    private int child(int node, char c) {
+        int low = edgeStart[node], high = edgeEnd[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char edge = edgeChar[middle];
+            if (edge < c) low = middle + 1;
+            else if (edge > c) high = middle - 1;
+            else return edgeTarget[middle];
+        }
+        return -1;
+    }
+
+    private void collect(int node, List<String> into, int limit) {
+        if (option[node] >= 0) into.add(names[option[node]]);
+        for (int edge = edgeStart[node]; edge < edgeEnd[node] && into.size() < limit; edge++)
+            collect(edgeTarget[edge], into, limit);
+    }
+
+    /**
+     * Finds the options within the given Levenshtein distance of the folded input, by walking the trie with one row of
+     * the distance matrix per node. Only the cells within the max. distance of the diagonal are computed, the rest
+     * can't be within it anyway, and branches of which every cell exceeds it are skipped.
+     *
+     * @return Up to limit options, closest first, as their distance in the upper and their index in the lower 32 bits.
+     */
+    private long[] closest(String input, int maxDistance, int limit) {
+        int length = input.length();
+        if (length == 0 || length > maxNameLength + maxDistance) return new long[0];
+
+        char[] chars = input.toCharArray();
+        int[][] rows = new int[length + maxDistance + 1][length + 2];
+        for (int i = 0; i <= length + 1; i++)
+            rows[0][i] = Math.min(i, maxDistance + 1);
+        TreeSet<Long> found = new TreeSet<>();
+        search(0, 1, 0, chars, maxDistance, rows, found);
+
+        long[] result = new long[Math.min(limit, found.size())];
+        Iterator<Long> iterator = found.iterator();
+        for (int i = 0; i < result.length; i++)
+            result[i] = iterator.next();
+        return result;
+    }
+
+    private void search(int node, int depth, int nodeMin, char[] input, int maxDistance, int[][] rows, TreeSet<Long> found) {
+        if (depth >= rows.length) return;
+        if (nodeMin < maxDistance) {
+            for (int edge = edgeStart[node]; edge < edgeEnd[node]; edge++)
+                step(edgeTarget[edge], edgeChar[edge], depth, input, maxDistance, rows, found);
+            return;
+        }
+        // Out of typos, so only children that continue the input exactly can stay within the distance
+        int[] previous = rows[depth - 1];
+        int low = Math.max(0, depth - 1 - maxDistance), high = Math.min(input.length - 1, depth - 1 + maxDistance);
+        next:
+        for (int i = low; i <= high; i++) {
+            if (previous[i] != maxDistance) continue;
+            for (int j = low; j < i; j++)
+                if (previous[j] == maxDistance && input[j] == input[i]) continue next;
+            int child = child(node, input[i]);
+            if (child >= 0) step(child, input[i], depth, input, maxDistance, rows, found);
+        }
+    }
+
+    private void step(int child, char c, int depth, char[] input, int maxDistance, int[][] rows, TreeSet<Long> found) {
+        int length = input.length, over = maxDistance + 1;
+        int low = Math.max(1, depth - maxDistance), high = Math.min(length, depth + maxDistance);
+        int[] previous = rows[depth - 1], row = rows[depth];
+        row[low - 1] = low == 1 ? Math.min(depth, over) : over;
+        row[high + 1] = over;
+        int min = row[low - 1];
+        for (int i = low; i <= high; i++) {
+            int cost = input[i - 1] == c ? 0 : 1;
+            row[i] = Math.min(Math.min(Math.min(row[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost), over);
+            min = Math.min(min, row[i]);
+        }
+        if (option[child] >= 0 && high == length && row[length] <= maxDistance)
+            found.add(((long) row[length] << 32) | option[child]);
+        if (min <= maxDistance) search(child, depth + 1, min, input, maxDistance, rows, found);
+    }
+
+    private static final class Node {
+
+        private char[] chars = new char[2];
+        private Node[] children = new Node[2];
+        private int size;
+        private int option = -1;
+
+        private Node add(char c) {
+            if (size == chars.length) {
+                chars = Arrays.copyOf(chars, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            chars[size] = c;
+            return children[size++] = new Node();
+        }
+    }
+}
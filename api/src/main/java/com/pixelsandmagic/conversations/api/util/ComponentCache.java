@@ -0,0 +1,44 @@
+package com.gigabitwize.conversations.api.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Shared cache of deserialized legacy (&amp;) strings. Components are immutable, so every conversation
+ * built from the same strings, e.g a quiz that's started thousands of times, shares the same instances.
+ * <p>
+ * The cache is a bounded LRU, once it holds 4096 strings the least recently used one is evicted for every new one.
+ * Lookups take a lock, strings are only looked up while building conversations and prompts.
+ */
+public final class ComponentCache {
+
+    private static final int MAX_SIZE = 4096;
+    private static final LinkedHashMap<String, Component> LEGACY = new LinkedHashMap<>(256, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    /**
+     * Returns the given legacy string, using &amp; as color character, as a component.
+     */
+    public static Component legacy(String text) {
+        synchronized (LEGACY) {
+            Component component = LEGACY.get(text);
+            if (component != null) return component;
+        }
+
+        // Deserialized outside the lock, a string that's deserialized twice at once only gets cached once
+        Component component = LegacyComponentSerializer.legacyAmpersand().deserialize(text);
+        synchronized (LEGACY) {
+            Component previous = LEGACY.putIfAbsent(text, component);
+            return previous != null ? previous : component;
+        }
+    }
+}
@@ -8,4 +8,11 @@ import net.kyori.adventure.text.Component;
 public class Constants {
 
     public static final Component INVALID_INPUT_MESSAGE = Component.text("Invalid input, try again.");
+    public static final Component VALIDATION_TIMED_OUT_MESSAGE = Component.text("Couldn't check your input in time, try again.");
+    public static final Component DID_YOU_MEAN_MESSAGE = Component.text("Did you mean: ");
+
+    /**
+     * Separates a conversation's name from its lines.
+     */
+    public static final Component NAME_SEPARATOR = Component.text(" ");
 }
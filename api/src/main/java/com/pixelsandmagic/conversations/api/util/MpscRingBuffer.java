@@ -0,0 +1,74 @@
+package com.gigabitwize.conversations.api.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A bounded, lock-free queue for many producers and a single consumer, e.g chat threads handing input to the
+ * server thread. Producers claim a slot with a single CAS and never wait on the consumer, when the buffer is
+ * full {@link #offer(Object)} fails right away instead.
+ * <p>
+ * Only one thread may call {@link #poll()} at a time.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    /**
+     * @param capacity Rounded up to the next power of two.
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) throw new IllegalArgumentException("Capacity must be between 1 and 2^30");
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return False if the buffer is full, the element is dropped.
+     */
+    public boolean offer(E element) {
+        if (element == null) throw new NullPointerException();
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= slots.length()) return false;
+        } while (!producerIndex.compareAndSet(index, index + 1));
+        slots.lazySet((int) index & mask, element);
+        return true;
+    }
+
+    /**
+     * Takes the oldest element.
+     *
+     * @return Null if the buffer is empty, or if the oldest slot has been claimed but not written yet.
+     * In the latter case it's picked up by the next poll.
+     */
+    public @Nullable E poll() {
+        long index = consumerIndex.get();
+        int slot = (int) index & mask;
+        E element = slots.get(slot);
+        if (element == null) return null;
+        slots.lazySet(slot, null);
+        consumerIndex.lazySet(index + 1);
+        return element;
+    }
+
+    /**
+     * Returns the amount of queued elements, this is an estimate while producers are active.
+     */
+    public int size() {
+        return (int) Math.max(0L, producerIndex.get() - consumerIndex.get());
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
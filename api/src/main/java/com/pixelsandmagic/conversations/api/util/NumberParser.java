@@ -0,0 +1,101 @@
+package com.gigabitwize.conversations.api.util;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Parses numbers out of chat input without throwing, wrong answers are common and a
+ * {@link NumberFormatException} fills in a stack trace for every one of them.
+ * Leading and trailing whitespace is ignored, like {@link String#trim()} does.
+ */
+public final class NumberParser {
+
+    /**
+     * Returned by {@link #parseInt(String)} and {@link #parseLong(String)} when the input isn't a valid number.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * @return The parsed int, or {@link #INVALID} if the input isn't an int.
+     */
+    public static long parseInt(String input) {
+        long value = parseLong(input);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) return INVALID;
+        return value;
+    }
+
+    /**
+     * @return The parsed long, or {@link #INVALID} if the input isn't a long. This means {@link Long#MIN_VALUE} itself
+     * can't be parsed.
+     */
+    public static long parseLong(String input) {
+        int start = 0, end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+        if (start == end) return INVALID;
+
+        boolean negative = false;
+        char first = input.charAt(start);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++start == end) return INVALID;
+        }
+
+        // Accumulated negatively, like Long#parseLong, so the overflow check is the same for both signs
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return INVALID;
+            if (result < multiplyLimit) return INVALID;
+            result *= 10;
+            if (result < limit + digit) return INVALID;
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Only plain decimal notation is accepted, e.g 1, -2.5, .5 or 1e3. NaN, Infinity, hex and type suffixes are not.
+     *
+     * @return The parsed double, or {@link Double#NaN} if the input isn't a double.
+     */
+    public static double parseDouble(String input) {
+        int start = 0, end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+
+        int i = start;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+        int digits = 0;
+        while (i < end && isDigit(input.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(input.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) return Double.NaN;
+        if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+            i++;
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+            int exponentDigits = 0;
+            while (i < end && isDigit(input.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) return Double.NaN;
+        }
+        if (i != end) return Double.NaN;
+        // The syntax has been checked, so this can't throw
+        return Double.parseDouble(input);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
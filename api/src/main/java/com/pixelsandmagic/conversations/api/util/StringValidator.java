@@ -1,15 +1,44 @@
 package com.gigabitwize.conversations.api.util;
 
-import java.util.regex.Pattern;
-
 /**
  * Created by Giovanni on 2/9/2023
  */
 public final class StringValidator {
 
-    private static final Pattern STRIP_COLOR_PATTERN = Pattern.compile("(?i)" + '§' + "[0-9A-FK-ORX]");
+    private static final char COLOR_CHAR = '§';
 
+    /**
+     * Strips legacy color codes, e.g §a, from the input.
+     *
+     * @return The input itself if it doesn't contain any, which is almost always the case for typed chat.
+     */
     public static String clean(String input) {
-        return STRIP_COLOR_PATTERN.matcher(input).replaceAll("");
+        int first = input.indexOf(COLOR_CHAR);
+        if (first == -1) return input;
+
+        int length = input.length();
+        char[] chars = null;
+        int size = 0;
+        for (int i = first; i < length; i++) {
+            char c = input.charAt(i);
+            if (c != COLOR_CHAR || i + 1 >= length || !isColorCode(input.charAt(i + 1))) {
+                if (chars != null) chars[size++] = c;
+                continue;
+            }
+            if (chars == null) {
+                chars = new char[length];
+                input.getChars(0, i, chars, 0);
+                size = i;
+            }
+            i++;
+        }
+        return chars == null ? input : new String(chars, 0, size);
+    }
+
+    private static boolean isColorCode(char c) {
+        return (c >= '0' && c <= '9')
+                || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')
+                || (c >= 'k' && c <= 'o') || (c >= 'K' && c <= 'O')
+                || c == 'r' || c == 'R' || c == 'x' || c == 'X';
     }
 }
@@ -0,0 +1,48 @@
+package com.gigabitwize.conversations.api.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Runs the conversations' mailboxes on the server thread, a few at a time every tick.
+ * Tasks are never dropped, there's at most one queued per conversation with work waiting,
+ * see {@link com.gigabitwize.conversations.api.ConversationMailbox}, and one per line of group input a platform hands to it.
+ */
+public final class TickExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+    }
+
+    /**
+     * Runs queued tasks until there are none left or the deadline has passed, what's left runs next tick.
+     * A task that is queued while running, e.g a busy mailbox handing over its turn, waits for the next tick too.
+     * <p>
+     * Only one thread may call this at a time, e.g the server thread.
+     */
+    public void runUntil(long deadline) {
+        for (int pending = tasks.size(); pending > 0; pending--) {
+            Runnable task = tasks.poll();
+            if (task == null) return;
+            try {
+                task.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            if (System.nanoTime() >= deadline) return;
+        }
+    }
+
+    /**
+     * Returns the amount of mailboxes waiting for their turn.
+     */
+    public int getPending() {
+        return tasks.size();
+    }
+}
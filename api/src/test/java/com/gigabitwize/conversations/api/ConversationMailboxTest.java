@@ -0,0 +1,91 @@
+package com.gigabitwize.conversations.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class ConversationMailboxTest {
+
+    private final ExecutorService stripe = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        stripe.shutdownNow();
+    }
+
+    @Test
+    void runsTasksOneAtATimeInPostOrder() throws InterruptedException {
+        ConversationMailbox mailbox = new ConversationMailbox(stripe);
+        int producers = 4, tasks = 5000;
+        int[] lastSeen = new int[producers];
+        AtomicInteger running = new AtomicInteger(), overlaps = new AtomicInteger(), outOfOrder = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * tasks);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int producer = 0; producer < producers; producer++) {
+            int id = producer;
+            threads.add(new Thread(() -> {
+                for (int task = 1; task <= tasks; task++) {
+                    int sequence = task;
+                    mailbox.post(() -> {
+                        if (running.incrementAndGet() != 1) overlaps.incrementAndGet();
+                        // Plain array, only safe because the mailbox never runs two tasks at once
+                        if (lastSeen[id] != sequence - 1) outOfOrder.incrementAndGet();
+                        lastSeen[id] = sequence;
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        assertTrue(done.await(10L, TimeUnit.SECONDS));
+        assertTrue(awaitIdle(mailbox));
+        assertEquals(0, overlaps.get());
+        assertEquals(0, outOfOrder.get());
+        assertEquals(producers * tasks, mailbox.getProcessedCount());
+    }
+
+    @Test
+    void keepsDrainingAfterATaskThrows() throws InterruptedException {
+        ConversationMailbox mailbox = new ConversationMailbox(stripe);
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.post(() -> {
+            throw new AssertionError("Thrown on purpose");
+        });
+        mailbox.post(() -> {
+            throw new IllegalStateException("Thrown on purpose");
+        });
+        assertTrue(awaitIdle(mailbox));
+        mailbox.post(done::countDown);
+
+        assertTrue(done.await(5L, TimeUnit.SECONDS));
+        assertTrue(awaitIdle(mailbox));
+        assertEquals(3L, mailbox.getProcessedCount());
+    }
+
+    //** INTERNAL **//
+    private static boolean awaitIdle(ConversationMailbox mailbox) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (mailbox.getQueueDepth() > 0) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(1L);
+        }
+        return true;
+    }
+}
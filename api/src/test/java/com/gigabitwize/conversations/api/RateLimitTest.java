@@ -0,0 +1,74 @@
+package com.gigabitwize.conversations.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class RateLimitTest {
+
+    private static final long NOW = TimeUnit.SECONDS.toNanos(100L);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    @Test
+    void burstIsAdmittedThenRejected() {
+        RateLimit limit = RateLimit.of(2, TimeUnit.SECONDS).burst(3);
+
+        long state = Long.MIN_VALUE;
+        for (int i = 1; i <= 3; i++) {
+            state = limit.admit(state, NOW);
+            assertEquals(NOW + i * 500L * MILLI, state);
+        }
+        assertEquals(RateLimit.REJECTED, limit.admit(state, NOW));
+    }
+
+    @Test
+    void withoutBurstSecondLineIsRejected() {
+        RateLimit limit = RateLimit.of(2, TimeUnit.SECONDS);
+
+        long state = limit.admit(Long.MIN_VALUE, NOW);
+        assertEquals(RateLimit.REJECTED, limit.admit(state, NOW));
+        assertEquals(RateLimit.REJECTED, limit.admit(state, NOW + 499L * MILLI));
+        assertNotEquals(RateLimit.REJECTED, limit.admit(state, NOW + 500L * MILLI));
+    }
+
+    @Test
+    void delayIsTimeUntilNextAdmission() {
+        RateLimit limit = RateLimit.of(2, TimeUnit.SECONDS).burst(3);
+        assertEquals(0L, limit.delay(Long.MIN_VALUE, NOW));
+
+        long state = Long.MIN_VALUE;
+        for (int i = 0; i < 3; i++)
+            state = limit.admit(state, NOW);
+        assertEquals(500L * MILLI, limit.delay(state, NOW));
+
+        long later = NOW + limit.delay(state, NOW);
+        assertEquals(0L, limit.delay(state, later));
+        assertNotEquals(RateLimit.REJECTED, limit.admit(state, later));
+    }
+
+    @Test
+    void idleParticipantGetsFullBurstBack() {
+        RateLimit limit = RateLimit.of(2, TimeUnit.SECONDS).burst(2);
+
+        long state = limit.admit(limit.admit(Long.MIN_VALUE, NOW), NOW);
+        long later = NOW + TimeUnit.SECONDS.toNanos(10L);
+        state = limit.admit(state, later);
+        assertNotEquals(RateLimit.REJECTED, state);
+        assertNotEquals(RateLimit.REJECTED, limit.admit(state, later));
+    }
+
+    @Test
+    void rejectsMoreThanOneLinePerNanosecond() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.of(2, TimeUnit.NANOSECONDS));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.of(1001, TimeUnit.MICROSECONDS));
+        assertEquals(1L, RateLimit.of(1000, TimeUnit.MICROSECONDS).admit(Long.MIN_VALUE, 0L));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.of(0, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,142 @@
+package com.gigabitwize.conversations.api.clause;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class ConditionTest {
+
+    @Test
+    void countSettlesTrueOnceThresholdIsStuck() {
+        ConditionNode.Keyword a = keyword("a"), b = keyword("b"), c = keyword("c");
+        ConditionNode.Count count = new ConditionNode.Count(new ConditionNode[]{a, b, c}, 2);
+        count.activate(owner());
+
+        a.input("a");
+        assertFalse(count.value);
+        assertFalse(count.settled);
+        b.input("b");
+        assertTrue(count.value);
+        assertTrue(count.settled);
+        // The remaining child can't change the outcome anymore
+        assertFalse(c.active);
+    }
+
+    @Test
+    void countSettlesFalseOnceThresholdIsOutOfReach() {
+        ConditionNode.Keyword a = keyword("a"), b = keyword("b"), c = keyword("c");
+        ConditionNode.Not notA = new ConditionNode.Not(a), notB = new ConditionNode.Not(b);
+        ConditionNode.Count count = new ConditionNode.Count(new ConditionNode[]{notA, notB, c}, 2);
+        assertTrue(count.value);
+        count.activate(owner());
+
+        a.input("a");
+        assertFalse(count.value);
+        assertFalse(count.settled);
+        b.input("b");
+        assertFalse(count.value);
+        assertTrue(count.settled);
+        assertFalse(c.active);
+    }
+
+    @Test
+    void notNoInputTriggersOnFirstInput() {
+        AtomicInteger fired = new AtomicInteger();
+        ConditionClause clause = Condition.not(Condition.noInput()).toClause(null);
+        clause.activate(fired::incrementAndGet);
+
+        assertTrue(clause.input("hello"));
+        // Input that meets the condition is reported through the return value, not the trigger
+        assertEquals(0, fired.get());
+        assertTrue(clause.input("again"));
+    }
+
+    @Test
+    void allWithNoInputNeverTriggersAfterInput() {
+        ConditionClause clause = Condition.noInput().and(Condition.keyword("cancel")).toClause(null);
+        clause.activate(() -> {
+        });
+
+        assertFalse(clause.input("cancel"));
+        assertFalse(clause.input("cancel"));
+    }
+
+    @Test
+    void atLeastNeedsDistinctConditions() {
+        ConditionClause clause = Condition.atLeast(2, Condition.keyword("a"), Condition.keyword("b"), Condition.keyword("c")).toClause(null);
+        clause.activate(() -> {
+        });
+
+        assertFalse(clause.input("a"));
+        assertFalse(clause.input("A"));
+        assertTrue(clause.input(" c "));
+    }
+
+    @Test
+    void atLeastRejectsThresholdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> Condition.atLeast(0, Condition.noInput(), Condition.inputs(1)));
+        assertThrows(IllegalArgumentException.class, () -> Condition.atLeast(3, Condition.noInput(), Condition.inputs(1)));
+        assertThrows(IllegalArgumentException.class, () -> Condition.atLeast(1));
+    }
+
+    @Test
+    void rejectedInputsOnlyCountsRejections() {
+        ConditionClause clause = Condition.rejectedInputs(2).toClause(null);
+        clause.activate(() -> {
+        });
+
+        assertFalse(clause.input("x"));
+        assertFalse(clause.rejected());
+        assertFalse(clause.input("y"));
+        assertTrue(clause.rejected());
+    }
+
+    @Test
+    void reportsClauseThatTriggered() {
+        AtomicReference<Clause.Trigger> trigger = new AtomicReference<>();
+        Clause.Reactive timer = new Clause.Reactive() {
+            @Override
+            public void activate(Trigger fire) {
+                trigger.set(fire);
+            }
+
+            @Override
+            public Component getTriggerMessage() {
+                return null;
+            }
+        };
+        AtomicInteger fired = new AtomicInteger();
+        ConditionClause clause = Condition.of(timer).or(Condition.keyword("cancel")).toClause(null);
+        clause.activate(fired::incrementAndGet);
+
+        trigger.get().fire();
+        assertEquals(1, fired.get());
+        assertSame(timer, clause.getTriggeredBy());
+
+        clause.deactivate();
+        clause.activate(fired::incrementAndGet);
+        assertTrue(clause.input("cancel"));
+        assertNull(clause.getTriggeredBy());
+    }
+
+    //** INTERNAL **//
+    private static ConditionNode.Keyword keyword(String keyword) {
+        return new ConditionNode.Keyword(new String[]{keyword});
+    }
+
+    private static ConditionClause owner() {
+        return new ConditionClause(Condition.noInput(), null);
+    }
+}
@@ -0,0 +1,199 @@
+package com.gigabitwize.conversations.api.persistence;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.Conversations;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.platform.AudienceProvider;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class ConversationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final Map<UUID, Restored> restored = new ConcurrentHashMap<>();
+    private final Map<UUID, CountDownLatch> latches = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void init() {
+        Conversations.init(new EmptyAudienceProvider());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        Conversations.cleanUp();
+    }
+
+    @Test
+    void recoversProgressOfUnfinishedConversations() throws Exception {
+        Path path = directory.resolve("conversations.journal");
+        UUID left = UUID.randomUUID(), finished = UUID.randomUUID(), unknown = UUID.randomUUID();
+
+        ConversationJournal journal = ConversationJournal.open(path);
+        long id = journal.started("quiz", left);
+        journal.answered(id, 1, "blue", AnswerCodec.STRING);
+        journal.prompted(id, 2);
+        journal.attempted(id, 2, 1);
+        long done = journal.started("quiz", finished);
+        journal.prompted(done, 1);
+        journal.ended(done);
+        journal.started("survey", unknown);
+        journal.close();
+
+        ConversationJournal reopened = open(path, 4096);
+        // Resumed in order on the journal's thread, so the others have been handled once the last one is restored
+        reopened.resume(finished);
+        reopened.resume(unknown);
+        CountDownLatch latch = expect(left);
+        reopened.resume(left);
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        reopened.close();
+
+        Restored state = restored.get(left);
+        assertEquals(id, state.journalId);
+        assertEquals(2, state.promptId);
+        assertEquals(1, state.attempt);
+        assertEquals("blue", ConversationJournal.decode(state.answers.get(1), AnswerCodec.STRING));
+        assertFalse(restored.containsKey(finished));
+        assertFalse(restored.containsKey(unknown));
+    }
+
+    @Test
+    void compactionKeepsStateAndFileSize() throws Exception {
+        Path path = directory.resolve("conversations.journal");
+        UUID participant = UUID.randomUUID();
+
+        ConversationJournal journal = open(path, 512);
+        long id = journal.started("quiz", participant);
+        journal.prompted(id, 1);
+        // Far more than fits in 512 bytes, the journal has to compact into its twin file over and over
+        for (int attempt = 1; attempt <= 500; attempt++) {
+            journal.attempted(id, 1, attempt);
+            long other = journal.started("quiz", UUID.randomUUID());
+            journal.ended(other);
+        }
+        journal.close();
+
+        assertTrue(Files.size(path) <= 512L);
+        assertTrue(Files.size(path.resolveSibling(path.getFileName() + ".alt")) <= 512L);
+
+        ConversationJournal reopened = open(path, 512);
+        CountDownLatch latch = expect(participant);
+        reopened.resume(participant);
+        assertTrue(latch.await(5L, TimeUnit.SECONDS));
+        // Ids keep counting up from the recovered ones
+        assertTrue(reopened.started("quiz", UUID.randomUUID()) > id);
+        reopened.close();
+
+        Restored state = restored.get(participant);
+        assertNotNull(state);
+        assertEquals(id, state.journalId);
+        assertEquals(1, state.promptId);
+        assertEquals(500, state.attempt);
+    }
+
+    //** INTERNAL **//
+    private ConversationJournal open(Path path, int capacity) throws IOException {
+        ConversationJournal journal = ConversationJournal.open(path, capacity).register("quiz", Recording::new);
+        journal.recover();
+        return journal;
+    }
+
+    private CountDownLatch expect(UUID participant) {
+        CountDownLatch latch = new CountDownLatch(1);
+        latches.put(participant, latch);
+        return latch;
+    }
+
+    private record Restored(long journalId, int promptId, int attempt, Map<Integer, byte[]> answers) {
+    }
+
+    private class Recording extends Conversation {
+
+        Recording(UUID participant) {
+            super(participant);
+        }
+
+        @Override
+        public void restore(long journalId, int promptId, int attempt, Map<Integer, byte[]> storedAnswers) {
+            restored.put(getParticipant(), new Restored(journalId, promptId, attempt, Map.copyOf(storedAnswers)));
+            CountDownLatch latch = latches.get(getParticipant());
+            if (latch != null) latch.countDown();
+        }
+
+        @Override
+        public boolean run() {
+            return true;
+        }
+    }
+
+    private static class EmptyAudienceProvider implements AudienceProvider {
+
+        @Override
+        public @NotNull Audience all() {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience console() {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience players() {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience player(@NotNull UUID playerId) {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience permission(@NotNull String permission) {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience world(@NotNull Key world) {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull Audience server(@NotNull String serverName) {
+            return Audience.empty();
+        }
+
+        @Override
+        public @NotNull ComponentFlattener flattener() {
+            return ComponentFlattener.basic();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
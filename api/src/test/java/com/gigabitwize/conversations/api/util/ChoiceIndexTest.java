@@ -0,0 +1,59 @@
+package com.gigabitwize.conversations.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class ChoiceIndexTest {
+
+    private final ChoiceIndex<String> index = ChoiceIndex.of(List.of("DIAMOND_SWORD", "DIAMOND_PICKAXE", "STONE", "STONE_BRICKS", "STICK", "STACK"), name -> name);
+
+    @Test
+    void exactNameResolves() {
+        assertEquals("DIAMOND_SWORD", index.resolve("diamond sword", 0));
+        assertEquals("DIAMOND_SWORD", index.resolve("  Diamond-Sword ", 0));
+        // An exact name wins over the longer names it's a prefix of
+        assertEquals("STONE", index.resolve("stone", 0));
+    }
+
+    @Test
+    void uniquePrefixResolves() {
+        assertEquals("DIAMOND_PICKAXE", index.resolve("diamond p", 0));
+        assertEquals("STONE_BRICKS", index.resolve("stone_b", 0));
+        assertNull(index.resolve("diamond", 0));
+        assertNull(index.resolve("st", 0));
+    }
+
+    @Test
+    void closestNameResolvesWithinDistance() {
+        assertEquals("STONE", index.resolve("stine", 1));
+        assertEquals("DIAMOND_SWORD", index.resolve("diamnod_sword", 2));
+        assertNull(index.resolve("stine", 0));
+        assertNull(index.resolve("diamnod_sword", 1));
+    }
+
+    @Test
+    void equallyCloseNamesAreAmbiguous() {
+        // One typo away from both STICK and STACK
+        assertNull(index.resolve("stbck", 1));
+        assertEquals(List.of("STACK", "STICK"), index.suggest("stbck", 1, 5).stream().sorted().toList());
+    }
+
+    @Test
+    void emptyInputNeverResolves() {
+        assertNull(index.resolve("", 2));
+        assertNull(index.resolve("   ", 2));
+    }
+
+    @Test
+    void codecRoundTripsOptionsAndDropsUnknownValues() {
+        assertEquals("STICK", index.codec().decode(index.codec().encode("STICK")));
+        assertNull(index.codec().decode(index.codec().encode("BEDROCK")));
+    }
+}
@@ -0,0 +1,27 @@
+package com.gigabitwize.conversations.api.util;
+
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ */
+class ComponentCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        Component used = ComponentCache.legacy("&aused");
+        Component unused = ComponentCache.legacy("&cunused");
+        for (int i = 0; i < 4096; i++) {
+            ComponentCache.legacy("&7filler " + i);
+            // Keeps the first string recently used while the cache fills up
+            if (i % 1000 == 0) assertSame(used, ComponentCache.legacy("&aused"));
+        }
+
+        assertSame(used, ComponentCache.legacy("&aused"));
+        assertNotSame(unused, ComponentCache.legacy("&cunused"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.Conversations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Measures the recipient filtering BukkitConversationsForwarder#onChat does for every chat line,
+ * with {@link #online} recipients of which a part is in a conversation. Bukkit's chat event can't be
+ * created without a server, so the recipients are a plain set of UUIDs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatFilterBenchmark {
+
+    @Param({"150"})
+    public int online;
+
+    private HashSet<UUID> recipients;
+
+    @Setup
+    public void setUp(ConversationsState state) {
+        recipients = new HashSet<>();
+        for (int i = 0; i < online; i++) {
+            // Half of the players online are talking, the rest aren't
+            recipients.add(i % 2 == 0 && i < state.participants.length ? state.participants[i] : UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public HashSet<UUID> filterRecipients() {
+        HashSet<UUID> chatRecipients = new HashSet<>(recipients);
+        if (Conversations.hasMutedParticipants())
+            chatRecipients.removeIf(Conversations::isMuted);
+        return chatRecipients;
+    }
+}
@@ -0,0 +1,78 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.util.ChoiceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Measures {@link ChoiceIndex} lookups over {@link #options} random names, for a full name, a unique prefix,
+ * a name with a typo and input that doesn't resolve, of which the suggestions are looked up too.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChoiceBenchmark {
+
+    @Param({"1000", "50000"})
+    public int options;
+
+    private ChoiceIndex<Integer> index;
+    private String name, prefix, typo;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(options);
+        LinkedHashMap<String, Integer> names = new LinkedHashMap<>();
+        while (names.size() < options) {
+            StringBuilder builder = new StringBuilder();
+            int length = 6 + random.nextInt(10);
+            for (int i = 0; i < length; i++)
+                builder.append((char) ('a' + random.nextInt(26)));
+            names.putIfAbsent(builder.toString(), names.size());
+        }
+        index = ChoiceIndex.of(names);
+        name = names.keySet().iterator().next();
+        prefix = name.substring(0, 5);
+        typo = name.substring(0, 2) + name.substring(3);
+    }
+
+    @Benchmark
+    public Integer exact() {
+        return index.resolve(name, 1);
+    }
+
+    @Benchmark
+    public Integer prefix() {
+        return index.resolve(prefix, 1);
+    }
+
+    @Benchmark
+    public Integer typo() {
+        return index.resolve(typo, 1);
+    }
+
+    @Benchmark
+    public List<String> noMatch() {
+        index.resolve("zzzzzzzzzz", 1);
+        return index.suggest("zzzzzzzzzz", 1, 3);
+    }
+}
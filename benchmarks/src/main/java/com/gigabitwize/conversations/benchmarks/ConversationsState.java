@@ -0,0 +1,45 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.ChatVisibility;
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.Conversations;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Initializes the Conversations API with {@link #conversations} running conversations, every tenth
+ * of which hides chat from its participant.
+ */
+@State(Scope.Benchmark)
+public class ConversationsState {
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int conversations;
+
+    public UUID[] participants;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Conversations.init(new InMemoryAudienceProvider());
+        participants = new UUID[conversations];
+        for (int i = 0; i < conversations; i++) {
+            participants[i] = UUID.randomUUID();
+            Conversation conversation = new Conversation(participants[i]);
+            if (i % 10 == 0) conversation.chatVisbility(ChatVisibility.PLUGINS_ONLY);
+            conversation.startDirectly();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Conversations.cleanUp();
+    }
+}
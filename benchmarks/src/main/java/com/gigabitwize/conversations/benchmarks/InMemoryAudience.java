@@ -0,0 +1,50 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.pointer.Pointers;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A player {@link Audience} that only counts the messages it receives.
+ */
+public class InMemoryAudience implements Audience {
+
+    private final UUID uuid;
+    private final Pointers pointers;
+    private volatile Component lastMessage;
+    private volatile long received;
+
+    public InMemoryAudience(UUID uuid) {
+        this.uuid = uuid;
+        this.pointers = Pointers.builder().withStatic(Identity.UUID, uuid).build();
+    }
+
+    @Override
+    public void sendMessage(@NotNull Component message) {
+        lastMessage = message;
+        received++;
+    }
+
+    @Override
+    public @NotNull Pointers pointers() {
+        return pointers;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public Component getLastMessage() {
+        return lastMessage;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+}
@@ -0,0 +1,65 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.platform.AudienceProvider;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Stand-in for a platform's {@link AudienceProvider}, every player is an {@link InMemoryAudience}.
+ */
+public class InMemoryAudienceProvider implements AudienceProvider {
+
+    private final ConcurrentHashMap<UUID, InMemoryAudience> players = new ConcurrentHashMap<>();
+
+    @Override
+    public @NotNull Audience all() {
+        return players();
+    }
+
+    @Override
+    public @NotNull Audience console() {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience players() {
+        return Audience.audience(players.values());
+    }
+
+    @Override
+    public @NotNull Audience player(@NotNull UUID playerId) {
+        return players.computeIfAbsent(playerId, InMemoryAudience::new);
+    }
+
+    @Override
+    public @NotNull Audience permission(@NotNull String permission) {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience world(@NotNull Key world) {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience server(@NotNull String serverName) {
+        return all();
+    }
+
+    @Override
+    public @NotNull ComponentFlattener flattener() {
+        return ComponentFlattener.basic();
+    }
+
+    @Override
+    public void close() {
+        players.clear();
+    }
+}
@@ -0,0 +1,96 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.IntPrompt;
+import com.gigabitwize.conversations.api.Prompt;
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Measures {@link Prompt} input handling, from color stripping to the fail message, for valid
+ * answers that the filter rejects, answers the converter can't handle and answers with color codes.
+ * The same answers are also given to an {@link IntPrompt}, which parses without boxing or throwing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputBenchmark {
+
+    private Conversation conversation, intConversation;
+
+    @Setup(Level.Iteration)
+    public void setUp(ConversationsState state) {
+        conversation = new Conversation(UUID.randomUUID())
+                .prompt(new Prompt<Integer>(Component.text("What's 2+2?"))
+                        .attempts(Integer.MAX_VALUE)
+                        .converter(Integer::parseInt)
+                        .filter(integer -> integer == 4)
+                        .fetch((input, sender) -> {
+                        }));
+        conversation.startDirectly();
+
+        intConversation = new Conversation(UUID.randomUUID())
+                .prompt(new IntPrompt(Component.text("What's 2+2?"))
+                        .intFilter(integer -> integer == 4)
+                        .attempts(Integer.MAX_VALUE)
+                        .fetch((input, sender) -> {
+                        }));
+        intConversation.startDirectly();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        // Otherwise every iteration leaves two more conversations registered for the next one to run next to
+        conversation.endDirectly();
+        intConversation.endDirectly();
+    }
+
+    @Benchmark
+    public Conversation wrongAnswer() {
+        conversation.handleInputDirectly("5");
+        return conversation;
+    }
+
+    @Benchmark
+    public Conversation unconvertibleAnswer() {
+        conversation.handleInputDirectly("four");
+        return conversation;
+    }
+
+    @Benchmark
+    public Conversation coloredAnswer() {
+        conversation.handleInputDirectly("§a5");
+        return conversation;
+    }
+
+    @Benchmark
+    public Conversation intPromptWrongAnswer() {
+        intConversation.handleInputDirectly("5");
+        return intConversation;
+    }
+
+    @Benchmark
+    public Conversation intPromptUnconvertibleAnswer() {
+        intConversation.handleInputDirectly("four");
+        return intConversation;
+    }
+}
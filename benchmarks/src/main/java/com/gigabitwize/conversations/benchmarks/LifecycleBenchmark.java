@@ -0,0 +1,51 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.clause.TimeClause;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Measures starting and ending a conversation while {@link ConversationsState#conversations} others are running,
+ * this replaces the old per-millisecond tick as the recurring cost of a conversation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LifecycleBenchmark {
+
+    // A small pool of players, so the measurement isn't dominated by creating audiences
+    private long next;
+
+    @Benchmark
+    public Conversation startAndEnd(ConversationsState state) {
+        Conversation conversation = new Conversation(new UUID(0L, next++ & 1023));
+        conversation.startDirectly();
+        conversation.endDirectly();
+        return conversation;
+    }
+
+    @Benchmark
+    public Conversation startAndEndTimed(ConversationsState state) {
+        Conversation conversation = new Conversation(new UUID(0L, next++ & 1023))
+                .endWhen(new TimeClause(10000L, null));
+        conversation.startDirectly();
+        conversation.endDirectly();
+        return conversation;
+    }
+}
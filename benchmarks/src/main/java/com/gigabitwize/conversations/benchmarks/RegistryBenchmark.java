@@ -0,0 +1,45 @@
+package com.gigabitwize.conversations.benchmarks;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.Conversations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Measures {@link Conversations#getConversationOf(UUID)} for participants and for players that aren't talking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    private final UUID stranger = UUID.randomUUID();
+    private int next;
+
+    @Benchmark
+    public Optional<Conversation> lookupParticipant(ConversationsState state) {
+        UUID[] participants = state.participants;
+        return Conversations.getConversationOf(participants[next++ % participants.length]);
+    }
+
+    @Benchmark
+    public Optional<Conversation> lookupStranger(ConversationsState state) {
+        return Conversations.getConversationOf(stranger);
+    }
+}
@@ -1,8 +1,13 @@
 package com.gigabitwize.conversations.bukkit;
 
 import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.util.TickExecutor;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by Giovanni on 2/16/2023
@@ -11,23 +16,61 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public class BukkitConversations {
 
+    @Nullable
+    private static BukkitTask tick;
     private static boolean initialized;
 
     /**
      * Initalizes the Conversations API.
      */
     public static void init(JavaPlugin plugin) {
+        init(plugin, false);
+    }
+
+    /**
+     * Initalizes the Conversations API.
+     *
+     * @param captureEarly Whether conversation input should be captured at the lowest event priority and cancelled,
+     *                     so other chat plugins (formatters, anti-spam, logging) never process it.
+     */
+    public static void init(JavaPlugin plugin, boolean captureEarly) {
         if (initialized) throw new IllegalStateException("Conversations(Bukkit) API already initialized");
         Conversations.init(BukkitAudiences.create(plugin));
-        plugin.getServer().getPluginManager().registerEvents(new BukkitConversationsForwarder(), plugin);
+        new BukkitConversationsForwarder(captureEarly, null).register(plugin);
+        initialized = true;
+    }
+
+    /**
+     * Initalizes the Conversations API, and runs conversations on the main thread instead of the API's own threads,
+     * so fetches and finishing texts can touch the world without scheduling a task per answer.
+     * Conversations with input waiting are run once every tick until the tick's time budget is used up,
+     * the rest waits for the next tick, so a burst of answers can't stall the server.
+     * Input of a {@link com.gigabitwize.conversations.api.GroupConversation} is handled on the main thread too.
+     *
+     * @param captureEarly See {@link #init(JavaPlugin, boolean)}.
+     * @param tickBudget   Max. time spent on conversations every tick, e.g 2ms.
+     */
+    public static void init(JavaPlugin plugin, boolean captureEarly, long tickBudget, TimeUnit unit) {
+        if (initialized) throw new IllegalStateException("Conversations(Bukkit) API already initialized");
+        TickExecutor tickExecutor = new TickExecutor();
+        long budget = unit.toNanos(tickBudget);
+        Conversations.init(BukkitAudiences.create(plugin), tickExecutor);
+        tick = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> tickExecutor.runUntil(System.nanoTime() + budget), 1L, 1L);
+        new BukkitConversationsForwarder(captureEarly, tickExecutor).register(plugin);
         initialized = true;
     }
 
     /**
-     * Cleans up the Conversations API.
+     * Cleans up the Conversations API, call it from the main thread, e.g in the plugin's onDisable.
      */
     public static void cleanUp() {
         if (!initialized) throw new IllegalStateException("Conversations(Bukkit) API not initialized");
+        // Runs the final saves of persistent conversations on the main thread, before the tick stops
         Conversations.cleanUp();
+        if (tick != null) {
+            tick.cancel();
+            tick = null;
+        }
+        initialized = false;
     }
 }
@@ -1,16 +1,22 @@
 package com.gigabitwize.conversations.bukkit;
 
-import com.gigabitwize.conversations.api.ChatVisibility;
+import com.gigabitwize.conversations.api.Conversation;
 import com.gigabitwize.conversations.api.Conversations;
 import com.gigabitwize.conversations.api.ConversationsForwarder;
+import com.gigabitwize.conversations.api.GroupConversation;
+import com.gigabitwize.conversations.api.util.TickExecutor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Created by Giovanni on 2/9/2023
@@ -19,31 +25,89 @@ import java.util.Iterator;
  */
 class BukkitConversationsForwarder implements ConversationsForwarder<JavaPlugin>, Listener {
 
+    private final boolean captureEarly;
+    @Nullable
+    private final TickExecutor tickExecutor;
+
+    /**
+     * @param captureEarly Whether conversation input should be captured and cancelled at {@link EventPriority#LOWEST},
+     *                     so other chat plugins never see it.
+     * @param tickExecutor Executor that runs the mailboxes on the main thread, if any, group input is handed to it as well.
+     */
+    BukkitConversationsForwarder(boolean captureEarly, @Nullable TickExecutor tickExecutor) {
+        this.captureEarly = captureEarly;
+        this.tickExecutor = tickExecutor;
+    }
+
     @Override
     public void register(JavaPlugin base) {
         base.getServer().getPluginManager().registerEvents(this, base);
+        if (captureEarly) {
+            base.getServer().getPluginManager().registerEvent(AsyncPlayerChatEvent.class, this, EventPriority.LOWEST,
+                    (listener, event) -> forward((AsyncPlayerChatEvent) event), base, true);
+        }
     }
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onChat(AsyncPlayerChatEvent event) {
-        // Check whether any recipients are in a conversation which can't receive chat messages
-        Iterator<Player> recipients = event.getRecipients().iterator();
-        while (recipients.hasNext()) {
-            Player recipient = recipients.next();
-            Conversations.getConversationOf(recipient.getUniqueId()).ifPresent(conversation -> {
-                if (conversation.getChatVisibility() != ChatVisibility.ALL)
-                    recipients.remove();
-            });
+        // Remove any recipients that are in a conversation which can't receive chat messages
+        if (Conversations.hasMutedParticipants())
+            event.getRecipients().removeIf(recipient -> Conversations.isMuted(recipient.getUniqueId()));
+
+        if (!captureEarly) forward(event);
+    }
+
+    /**
+     * Ends the player's conversation, or hands it to the {@link com.gigabitwize.conversations.api.persistence.ConversationStore}
+     * if it's persistent, so they can continue it on the server they're going to.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Conversations.quit(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        Conversations.resume(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Group conversations have no mailbox, with a {@link TickExecutor} their input is queued on it like the mailboxes,
+     * so fetches run on the main thread instead of the chat thread.
+     */
+    @Override
+    public void forwardGroupInput(GroupConversation<?> group, UUID sender, String input, Runnable onSuccess) {
+        if (tickExecutor == null) {
+            ConversationsForwarder.super.forwardGroupInput(group, sender, input, onSuccess);
+            return;
         }
+        tickExecutor.execute(() -> ConversationsForwarder.super.forwardGroupInput(group, sender, input, () -> {
+        }));
+        onSuccess.run();
+    }
 
-        // Now we check if the message sender is in a conversation, if so we forward the input
+    /**
+     * Checks if the message sender is in a conversation, if so we forward the input.
+     */
+    private void forward(AsyncPlayerChatEvent event) {
         Player chatter = event.getPlayer();
 
-        Conversations.getConversationOf(chatter.getUniqueId()).ifPresent(conversation -> {
-            if (conversation.echoOn())
+        Optional<Conversation> conversation = Conversations.getConversationOf(chatter.getUniqueId());
+        if (conversation.isPresent()) {
+            if (conversation.get().echoOn() && !conversation.get().buffersOutput())
+                chatter.sendMessage(event.getMessage());
+
+            forwardInput(conversation.get(), chatter.getUniqueId(), event.getMessage(), () -> {
+                event.setCancelled(true);
+            });
+            return;
+        }
+
+        Conversations.getGroupOf(chatter.getUniqueId()).ifPresent(group -> {
+            if (group.echoOn())
                 chatter.sendMessage(event.getMessage());
 
-            forwardInput(conversation, chatter.getUniqueId(), event.getMessage(), () -> {
+            forwardGroupInput(group, chatter.getUniqueId(), event.getMessage(), () -> {
                 event.setCancelled(true);
             });
         });
@@ -0,0 +1,61 @@
+package com.gigabitwize.conversations.fabric;
+
+import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.util.TickExecutor;
+import net.kyori.adventure.platform.fabric.FabricServerAudiences;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Fabric wrapper for {@link Conversations}. Conversations run on the server thread, see {@link FabricConversationsForwarder}.
+ */
+public class FabricConversations {
+
+    private static FabricConversationsForwarder forwarder;
+    private static boolean initialized;
+
+    /**
+     * Initalizes the Conversations API, buffering up to 1024 chat messages and spending at most 2ms per tick on conversations.
+     */
+    public static void init(MinecraftServer server) {
+        init(server, 1024, 2000L, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Initalizes the Conversations API.
+     *
+     * @param inputCapacity Max. chat messages that are waiting to be handled, any more are dropped.
+     * @param tickBudget    Max. time spent on conversations every tick, the rest waits for the next tick.
+     */
+    public static void init(MinecraftServer server, int inputCapacity, long tickBudget, TimeUnit unit) {
+        if (initialized) throw new IllegalStateException("Conversations(Fabric) API already initialized");
+        TickExecutor executor = new TickExecutor();
+        Conversations.init(FabricServerAudiences.of(server), executor);
+        forwarder = new FabricConversationsForwarder(executor, inputCapacity, unit.toNanos(tickBudget));
+        forwarder.register(server);
+        initialized = true;
+    }
+
+    /**
+     * Returns the amount of chat messages that were dropped because too many were waiting, see {@link #init(MinecraftServer, int, long, TimeUnit)}.
+     */
+    public static long getDroppedInput() {
+        if (!initialized) throw new IllegalStateException("Conversations(Fabric) API not initialized");
+        return forwarder.getDropped();
+    }
+
+    /**
+     * Cleans up the Conversations API, call it from the server thread, e.g when the server is stopping.
+     */
+    public static void cleanUp() {
+        if (!initialized) throw new IllegalStateException("Conversations(Fabric) API not initialized");
+        // Runs the final saves of persistent conversations on the server thread, before the listeners are switched off
+        Conversations.cleanUp();
+        forwarder.unregister();
+        forwarder = null;
+        initialized = false;
+    }
+}
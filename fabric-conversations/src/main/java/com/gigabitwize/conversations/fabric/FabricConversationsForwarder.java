@@ -0,0 +1,112 @@
+package com.gigabitwize.conversations.fabric;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.ConversationsForwarder;
+import com.gigabitwize.conversations.api.GroupConversation;
+import com.gigabitwize.conversations.api.util.MpscRingBuffer;
+import com.gigabitwize.conversations.api.util.TickExecutor;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.message.v1.ServerMessageEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.kyori.adventure.text.Component;
+import net.minecraft.network.message.MessageType;
+import net.minecraft.network.message.SignedMessage;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * The Fabric {@link ConversationsForwarder}.
+ * <p>
+ * Chat from players in a conversation is taken out of the broadcast and put on a bounded ring buffer, on
+ * whatever thread the message arrives on. At the end of every tick the server thread forwards the buffered
+ * input and runs the conversations' mailboxes through the {@link TickExecutor}, until the tick's time budget
+ * is used up. A chat flood fills the buffer and gets dropped instead of stalling the tick.
+ * <p>
+ * {@link com.gigabitwize.conversations.api.ChatVisibility} isn't applied, Fabric's chat events can only cancel
+ * a broadcast as a whole, so muted participants still receive other players' chat.
+ */
+class FabricConversationsForwarder implements ConversationsForwarder<MinecraftServer> {
+
+    private final MpscRingBuffer<Input> input;
+    private final TickExecutor executor;
+    private final long tickBudgetNanos;
+    private final LongAdder dropped = new LongAdder();
+    // Fabric events can't be unregistered, so the listeners are switched off instead
+    private volatile boolean active = true;
+
+    FabricConversationsForwarder(TickExecutor executor, int capacity, long tickBudgetNanos) {
+        this.input = new MpscRingBuffer<>(capacity);
+        this.executor = executor;
+        this.tickBudgetNanos = tickBudgetNanos;
+    }
+
+    @Override
+    public void register(MinecraftServer base) {
+        ServerMessageEvents.ALLOW_CHAT_MESSAGE.register(this::onChat);
+        ServerTickEvents.END_SERVER_TICK.register(this::onTick);
+        // Ends the leaving player's conversation, or hands it over to the ConversationStore if it's persistent
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            if (active) Conversations.quit(handler.player.getUuid());
+        });
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            if (active) Conversations.resume(handler.player.getUuid());
+        });
+    }
+
+    void unregister() {
+        active = false;
+    }
+
+    /**
+     * Returns the amount of input that was dropped because the buffer was full.
+     */
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    private boolean onChat(SignedMessage message, ServerPlayerEntity sender, MessageType.Parameters params) {
+        if (!active) return true;
+        UUID chatter = sender.getUuid();
+        if (Conversations.getConversationOf(chatter).isEmpty() && Conversations.getGroupOf(chatter).isEmpty()) return true;
+
+        if (!input.offer(new Input(chatter, message.getSignedContent()))) dropped.increment();
+        return false;
+    }
+
+    private void onTick(MinecraftServer server) {
+        if (!active) return;
+        long deadline = System.nanoTime() + tickBudgetNanos;
+
+        for (int pending = input.size(); pending > 0; pending--) {
+            Input next = input.poll();
+            if (next == null) break;
+            // The conversation might have ended since the message was sent
+            Optional<Conversation> conversation = Conversations.getConversationOf(next.sender);
+            if (conversation.isPresent()) {
+                if (conversation.get().echoOn() && !conversation.get().buffersOutput())
+                    Conversations.provider().player(next.sender).sendMessage(Component.text(next.message));
+                forwardInput(conversation.get(), next.sender, next.message, () -> {
+                });
+            } else {
+                Optional<GroupConversation<?>> group = Conversations.getGroupOf(next.sender);
+                if (group.isEmpty()) continue;
+                if (group.get().echoOn())
+                    Conversations.provider().player(next.sender).sendMessage(Component.text(next.message));
+                forwardGroupInput(group.get(), next.sender, next.message, () -> {
+                });
+            }
+            if (System.nanoTime() >= deadline) return;
+        }
+        executor.runUntil(deadline);
+    }
+
+    private record Input(UUID sender, String message) {
+    }
+}
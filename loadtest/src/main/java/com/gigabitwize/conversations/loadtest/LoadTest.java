@@ -0,0 +1,225 @@
+package com.gigabitwize.conversations.loadtest;
+
+import com.gigabitwize.conversations.api.ChoicePrompt;
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.ConversationTemplate;
+import com.gigabitwize.conversations.api.Conversations;
+import com.gigabitwize.conversations.api.ConversationsForwarder;
+import com.gigabitwize.conversations.api.IntPrompt;
+import com.gigabitwize.conversations.api.Prompt;
+import com.gigabitwize.conversations.api.clause.TimeClause;
+import com.gigabitwize.conversations.api.metrics.DefaultConversationsMetrics;
+import com.gigabitwize.conversations.api.metrics.LatencyHistogram;
+import com.gigabitwize.conversations.api.util.ChoiceIndex;
+import net.kyori.adventure.text.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Soak test of the whole stack. Simulated players go through a three-prompt conversation, with answers
+ * that arrive on multiple chat threads through a {@link ConversationsForwarder}, the same way platform input does.
+ * Players that finish, run out of attempts, time out or quit are replaced by new ones until the run's duration is over.
+ * A player that quits has their conversation ended the way the platforms' quit hooks do.
+ * <p>
+ * e.g java -jar loadtest/target/loadtest.jar --players=5000 --duration=5m --answer-delay=100ms..3s --churn=0.02
+ */
+public class LoadTest {
+
+    private static final String[] NAMES = {"Steve", "Alex", "Notch", "Jeb_", "Dinnerbone"};
+
+    private final LoadTestOptions options;
+    private final SimulatedAudienceProvider provider = new SimulatedAudienceProvider();
+    private final DefaultConversationsMetrics metrics = new DefaultConversationsMetrics();
+    private final ConversationsForwarder<Void> forwarder = base -> {
+    };
+    private final ScheduledThreadPoolExecutor chat;
+
+    private ConversationTemplate template;
+    private ChoiceIndex<Integer> choices;
+
+    // Guarded by its own lock, LatencyHistogram isn't thread-safe
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder answers = new LongAdder(), responses = new LongAdder(), quits = new LongAdder();
+    private final AtomicInteger online = new AtomicInteger();
+    private volatile boolean spawning;
+
+    public LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.chat = new ScheduledThreadPoolExecutor(options.chatThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "LoadTest-Chat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        chat.setRemoveOnCancelPolicy(true);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadTestReport report = new LoadTest(options).run();
+        System.out.println(report);
+        System.exit(report.leakedConversations() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Runs the test, blocks until it's done.
+     */
+    public LoadTestReport run() throws InterruptedException {
+        Conversations.init(provider);
+        Conversations.metrics(metrics);
+        setUpConversation();
+
+        long heapBefore = LoadTestReport.usedHeap();
+        long start = System.nanoTime();
+        spawning = true;
+        for (int i = 0; i < options.players(); i++)
+            spawn();
+
+        long end = start + TimeUnit.MILLISECONDS.toNanos(options.duration());
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(options.reportPeriod(), Math.max(1L, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            System.out.println(progress(start));
+        }
+
+        // Let the last players finish, their conversations end at the latest after the timeout
+        spawning = false;
+        long drainEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.timeout() + options.maxDelay() + 2000L);
+        while (System.nanoTime() < drainEnd && (online.get() > 0 || Conversations.getActiveCount() > 0))
+            Thread.sleep(50L);
+        long elapsed = System.nanoTime() - start;
+
+        int leaked = Conversations.getActiveCount();
+        LoadTestReport report;
+        synchronized (latency) {
+            report = new LoadTestReport(options, elapsed, answers.sum(), responses.sum(), quits.sum(), latency,
+                    metrics.snapshot(), leaked, heapBefore, LoadTestReport.usedHeap());
+        }
+        chat.shutdownNow();
+        Conversations.cleanUp();
+        return report;
+    }
+
+    private void setUpConversation() {
+        LinkedHashMap<String, Integer> items = new LinkedHashMap<>();
+        for (int i = 0; i < options.choices(); i++)
+            items.put("item_" + i, i);
+        choices = ChoiceIndex.of(items);
+
+        template = ConversationTemplate.builder()
+                .by("&bGuide:")
+                .prompt(new IntPrompt(Component.text("What's 2+2?"))
+                        .intFilter(answer -> answer == 4)
+                        .allAttemptsFailedText("&cOut of attempts.")
+                        .fetch((answer, sender) -> {
+                        }))
+                .prompt(new ChoicePrompt<>(Component.text("Which item do you want?"), choices)
+                        .suggestions(0)
+                        .allAttemptsFailedText("&cOut of attempts.")
+                        .fetch((item, sender) -> {
+                        }))
+                .prompt(new Prompt<String>(Component.text("What's your name?"))
+                        .converter(name -> name)
+                        .filter(name -> name.length() >= 3 && name.length() <= 16 && name.chars().allMatch(Character::isLetterOrDigit))
+                        .allAttemptsFailedText("&cOut of attempts.")
+                        .fetch((name, sender) -> {
+                        }))
+                .finishingText("&aDone!")
+                .bufferOutput(options.bufferOutput())
+                .build();
+    }
+
+    private void spawn() {
+        SimulatedPlayer player = new SimulatedPlayer(UUID.randomUUID(), this);
+        provider.join(player);
+        online.incrementAndGet();
+        template.create(player.getUuid())
+                .endWhen(new TimeClause(options.timeout(), Component.text("Out of time.")))
+                .run();
+    }
+
+    private void leave(SimulatedPlayer player) {
+        if (!player.leave()) return;
+        // Same as the platforms' quit hooks
+        Conversations.quit(player.getUuid());
+        provider.quit(player);
+        online.decrementAndGet();
+        if (spawning) spawn();
+    }
+
+    //** INTERNAL **//
+    void scheduleAnswer(SimulatedPlayer player) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = options.minDelay() == options.maxDelay() ? options.minDelay() : random.nextLong(options.minDelay(), options.maxDelay() + 1L);
+        chat.schedule(() -> answer(player), delay, TimeUnit.MILLISECONDS);
+    }
+
+    void responded(long nanos) {
+        responses.increment();
+        synchronized (latency) {
+            latency.record(nanos);
+        }
+    }
+
+    private void answer(SimulatedPlayer player) {
+        Optional<Conversation> conversation = Conversations.getConversationOf(player.getUuid());
+        if (conversation.isEmpty()) {
+            leave(player);
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < options.churn()) {
+            quits.increment();
+            leave(player);
+            return;
+        }
+        boolean correct = random.nextDouble() >= options.errorRate();
+        String input = correct ? correctAnswer(player.step(), random) : wrongAnswer(player.step(), random);
+        player.answering(correct);
+        answers.increment();
+        forwarder.forwardInput(conversation.get(), player.getUuid(), input, () -> {
+        });
+    }
+
+    private String correctAnswer(int step, ThreadLocalRandom random) {
+        return switch (step) {
+            case 0 -> "4";
+            case 1 -> "item_" + random.nextInt(options.choices());
+            default -> NAMES[random.nextInt(NAMES.length)] + random.nextInt(1000);
+        };
+    }
+
+    private String wrongAnswer(int step, ThreadLocalRandom random) {
+        return switch (step) {
+            case 0 -> random.nextBoolean() ? "5" : "four";
+            case 1 -> "nothing";
+            default -> "!";
+        };
+    }
+
+    private String progress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9D;
+        long p99;
+        synchronized (latency) {
+            p99 = latency.getValueAtPercentile(99D);
+        }
+        return String.format("[%6.1fs] online=%d conversations=%d answers=%d (%.0f/s) p99=%.2fms heap=%dMB",
+                seconds, online.get(), Conversations.getActiveCount(), answers.sum(), answers.sum() / seconds,
+                p99 / 1e6D, LoadTestReport.currentHeap() >> 20);
+    }
+}
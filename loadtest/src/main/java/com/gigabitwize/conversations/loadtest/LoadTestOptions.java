@@ -0,0 +1,91 @@
+package com.gigabitwize.conversations.loadtest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Settings of a {@link LoadTest} run, parsed from --name=value arguments. Durations take a unit, e.g 500ms, 30s or 5m.
+ *
+ * @param players      Players in a conversation at any time, a player that leaves is replaced by a new one.
+ * @param duration     How long players keep being replaced, the run then drains until every conversation has ended.
+ * @param minDelay     Min. time a player takes to answer, in milliseconds.
+ * @param maxDelay     Max. time a player takes to answer, in milliseconds.
+ * @param errorRate    Chance that an answer is wrong, between 0 and 1.
+ * @param churn        Chance that a player quits instead of answering, between 0 and 1. Their conversation is ended like a quit hook would.
+ * @param timeout      Time after which a conversation ends, in milliseconds.
+ * @param chatThreads  Threads the simulated chat arrives on.
+ * @param choices      Options of the choice prompt.
+ * @param reportPeriod Time between progress lines, in milliseconds.
+ * @param bufferOutput Whether the conversations buffer their output, see Conversation#bufferOutput.
+ */
+public record LoadTestOptions(int players,
+                              long duration,
+                              long minDelay,
+                              long maxDelay,
+                              double errorRate,
+                              double churn,
+                              long timeout,
+                              int chatThreads,
+                              int choices,
+                              long reportPeriod,
+                              boolean bufferOutput) {
+
+    public static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value]...
+              --players=1000          Players in a conversation at any time
+              --duration=60s          How long players keep being replaced
+              --answer-delay=200ms..2s  Time a player takes to answer
+              --error-rate=0.1        Chance that an answer is wrong
+              --churn=0.01            Chance that a player quits instead of answering
+              --timeout=10s           Time after which a conversation ends
+              --chat-threads=4        Threads the simulated chat arrives on
+              --choices=1000          Options of the choice prompt
+              --report-period=5s      Time between progress lines
+              --buffer-output=false   Whether conversations buffer their output""";
+
+    public static LoadTestOptions parse(String[] args) {
+        int players = 1000, chatThreads = 4, choices = 1000;
+        long duration = 60000L, minDelay = 200L, maxDelay = 2000L, timeout = 10000L, reportPeriod = 5000L;
+        double errorRate = 0.1D, churn = 0.01D;
+        boolean bufferOutput = false;
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) throw new IllegalArgumentException("Invalid argument: " + arg);
+            String name = arg.substring(2, separator), value = arg.substring(separator + 1);
+            switch (name) {
+                case "players" -> players = Integer.parseInt(value);
+                case "duration" -> duration = millis(value);
+                case "answer-delay" -> {
+                    int range = value.indexOf("..");
+                    minDelay = millis(range < 0 ? value : value.substring(0, range));
+                    maxDelay = range < 0 ? minDelay : millis(value.substring(range + 2));
+                }
+                case "error-rate" -> errorRate = Double.parseDouble(value);
+                case "churn" -> churn = Double.parseDouble(value);
+                case "timeout" -> timeout = millis(value);
+                case "chat-threads" -> chatThreads = Integer.parseInt(value);
+                case "choices" -> choices = Integer.parseInt(value);
+                case "report-period" -> reportPeriod = millis(value);
+                case "buffer-output" -> bufferOutput = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        if (players < 1 || chatThreads < 1 || choices < 1) throw new IllegalArgumentException("Counts must be at least 1");
+        if (minDelay > maxDelay) throw new IllegalArgumentException("Min. answer delay is larger than the max.");
+        return new LoadTestOptions(players, duration, minDelay, maxDelay, errorRate, churn, timeout, chatThreads, choices, reportPeriod, bufferOutput);
+    }
+
+    private static long millis(String duration) {
+        String value = duration.trim();
+        if (value.endsWith("ms")) return Long.parseLong(value.substring(0, value.length() - 2));
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> TimeUnit.SECONDS.toMillis(amount);
+            case 'm' -> TimeUnit.MINUTES.toMillis(amount);
+            case 'h' -> TimeUnit.HOURS.toMillis(amount);
+            default -> throw new IllegalArgumentException("Duration needs a unit (ms, s, m or h): " + duration);
+        };
+    }
+}
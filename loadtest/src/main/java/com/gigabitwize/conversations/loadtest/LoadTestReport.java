@@ -0,0 +1,90 @@
+package com.gigabitwize.conversations.loadtest;
+
+import com.gigabitwize.conversations.api.metrics.LatencyHistogram;
+import com.gigabitwize.conversations.api.metrics.MetricsSnapshot;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Outcome of a {@link LoadTest} run. Latencies are in nanoseconds, heap sizes in bytes.
+ *
+ * @param leakedConversations Conversations still registered after the drain, every conversation should have ended by then.
+ * @param heapBefore          Heap in use after a GC, before the first player joined.
+ * @param heapAfter           Heap in use after a GC, once every player left.
+ */
+public record LoadTestReport(LoadTestOptions options,
+                             long elapsedNanos,
+                             long answers,
+                             long responses,
+                             long quits,
+                             MetricsSnapshot.Distribution latency,
+                             MetricsSnapshot metrics,
+                             int leakedConversations,
+                             long heapBefore,
+                             long heapAfter) {
+
+    LoadTestReport(LoadTestOptions options, long elapsedNanos, long answers, long responses, long quits, LatencyHistogram latency,
+                   MetricsSnapshot metrics, int leakedConversations, long heapBefore, long heapAfter) {
+        this(options, elapsedNanos, answers, responses, quits,
+                new MetricsSnapshot.Distribution(latency.getCount(), latency.getMean(),
+                        latency.getValueAtPercentile(50D),
+                        latency.getValueAtPercentile(99D),
+                        latency.getValueAtPercentile(99.9D),
+                        latency.getMax()),
+                metrics, leakedConversations, heapBefore, heapAfter);
+    }
+
+    public double answersPerSecond() {
+        return answers / (elapsedNanos / 1e9D);
+    }
+
+    public long heapGrowth() {
+        return heapAfter - heapBefore;
+    }
+
+    @Override
+    public String toString() {
+        double seconds = elapsedNanos / 1e9D;
+        return String.join(System.lineSeparator(),
+                "==== Load test ====",
+                String.format("players=%d duration=%.1fs answer-delay=%d..%dms error-rate=%.2f churn=%.3f timeout=%dms chat-threads=%d buffer-output=%b",
+                        options.players(), seconds, options.minDelay(), options.maxDelay(), options.errorRate(), options.churn(),
+                        options.timeout(), options.chatThreads(), options.bufferOutput()),
+                String.format("conversations   started=%d completed=%d timed-out=%d out-of-attempts=%d quits=%d evicted=%d",
+                        metrics.started(), metrics.completed(), metrics.timedOut(), metrics.attemptsExhausted(), quits, metrics.evicted()),
+                String.format("throughput      %.1f answers/s, %.1f conversations/s", answersPerSecond(), metrics.completed() / seconds),
+                String.format("answers         sent=%d responded=%d failed-conversions=%d failed-filters=%d dropped=%d",
+                        answers, responses, metrics.conversionFailures(), metrics.filterFailures(), metrics.inputDropped()),
+                "response        " + millis(latency),
+                "input handling  " + millis(metrics.inputHandling()),
+                "mailbox task    " + millis(metrics.processing()),
+                String.format("heap            before=%dMB after=%dMB growth=%+dKB", heapBefore >> 20, heapAfter >> 20, heapGrowth() >> 10),
+                "leaked          " + leakedConversations + (leakedConversations == 0 ? "" : " conversations never ended!"));
+    }
+
+    //** INTERNAL **//
+    private static String millis(MetricsSnapshot.Distribution distribution) {
+        return String.format("p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms (n=%d)",
+                distribution.p50() / 1e6D, distribution.p99() / 1e6D, distribution.p999() / 1e6D, distribution.max() / 1e6D,
+                distribution.count());
+    }
+
+    /**
+     * Returns the heap in use after a full GC.
+     */
+    static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+            Thread.sleep(100L);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    static long currentHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
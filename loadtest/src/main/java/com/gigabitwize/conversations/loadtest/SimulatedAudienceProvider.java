@@ -0,0 +1,74 @@
+package com.gigabitwize.conversations.loadtest;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.platform.AudienceProvider;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Stand-in for a platform's {@link AudienceProvider}, serving the {@link SimulatedPlayer}s that are online.
+ */
+public class SimulatedAudienceProvider implements AudienceProvider {
+
+    private final ConcurrentHashMap<UUID, SimulatedPlayer> online = new ConcurrentHashMap<>();
+
+    void join(SimulatedPlayer player) {
+        online.put(player.getUuid(), player);
+    }
+
+    void quit(SimulatedPlayer player) {
+        online.remove(player.getUuid(), player);
+    }
+
+    @Override
+    public @NotNull Audience all() {
+        return players();
+    }
+
+    @Override
+    public @NotNull Audience console() {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience players() {
+        return Audience.audience(online.values());
+    }
+
+    @Override
+    public @NotNull Audience player(@NotNull UUID playerId) {
+        SimulatedPlayer player = online.get(playerId);
+        return player == null ? Audience.empty() : player;
+    }
+
+    @Override
+    public @NotNull Audience permission(@NotNull String permission) {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience world(@NotNull Key world) {
+        return Audience.empty();
+    }
+
+    @Override
+    public @NotNull Audience server(@NotNull String serverName) {
+        return all();
+    }
+
+    @Override
+    public @NotNull ComponentFlattener flattener() {
+        return ComponentFlattener.basic();
+    }
+
+    @Override
+    public void close() {
+        online.clear();
+    }
+}
@@ -0,0 +1,78 @@
+package com.gigabitwize.conversations.loadtest;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.pointer.Pointers;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A player that answers every message it gets after a delay, until its conversation is gone or it quits.
+ * Every answer gets exactly one message back, the next prompt or a fail text, so the time between an answer
+ * and the next message is the answer-to-response latency.
+ */
+public class SimulatedPlayer implements Audience {
+
+    private final UUID uuid;
+    private final Pointers pointers;
+    private final LoadTest test;
+
+    // The prompt the player is at, only touched between an answer and its response
+    private int step;
+    private volatile long answeredAt;
+    private volatile boolean left;
+
+    SimulatedPlayer(UUID uuid, LoadTest test) {
+        this.uuid = uuid;
+        this.pointers = Pointers.builder().withStatic(Identity.UUID, uuid).build();
+        this.test = test;
+    }
+
+    @Override
+    public void sendMessage(@NotNull Component message) {
+        if (left) return;
+        long answered = answeredAt;
+        if (answered != 0L) {
+            answeredAt = 0L;
+            test.responded(System.nanoTime() - answered);
+        }
+        test.scheduleAnswer(this);
+    }
+
+    @Override
+    public @NotNull Pointers pointers() {
+        return pointers;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    //** INTERNAL **//
+    int step() {
+        return step;
+    }
+
+    /**
+     * Called right before the answer is forwarded.
+     *
+     * @param correct Whether the answer moves the conversation on to the next prompt.
+     */
+    void answering(boolean correct) {
+        if (correct) step++;
+        answeredAt = System.nanoTime();
+    }
+
+    /**
+     * @return False if the player already left.
+     */
+    boolean leave() {
+        if (left) return false;
+        left = true;
+        return true;
+    }
+}
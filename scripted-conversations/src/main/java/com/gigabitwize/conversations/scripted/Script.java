@@ -0,0 +1,21 @@
+package com.gigabitwize.conversations.scripted;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * The body of a {@link ScriptedConversation}, written as a plain method.
+ * <p>
+ * e.g;
+ * String name = ctx.ask(Component.text("What's your name?"));
+ * if (name.equalsIgnoreCase("fish")) ctx.say(Component.text("Hello fellow fish!"));
+ */
+@FunctionalInterface
+public interface Script {
+
+    /**
+     * Runs the script on its own virtual thread, which parks whenever it waits for input.
+     *
+     * @throws InterruptedException When the conversation ends while the script is waiting, e.g through a clause.
+     */
+    void run(ScriptContext ctx) throws Exception;
+}
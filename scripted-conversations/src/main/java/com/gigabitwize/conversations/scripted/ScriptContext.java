@@ -0,0 +1,74 @@
+package com.gigabitwize.conversations.scripted;
+
+import com.gigabitwize.conversations.api.Converter;
+import com.gigabitwize.conversations.api.util.Constants;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * Handle a {@link Script} uses to talk to its participant.
+ */
+public final class ScriptContext {
+
+    private final ScriptedConversation conversation;
+
+    ScriptContext(ScriptedConversation conversation) {
+        this.conversation = conversation;
+    }
+
+    /**
+     * Displays the question and parks until the participant answers it.
+     *
+     * @return The participant's answer, stripped from color codes.
+     */
+    public String ask(@NotNull Component question) throws InterruptedException {
+        return conversation.ask(question);
+    }
+
+    /**
+     * Displays the question until the participant gives an answer the converter accepts.
+     *
+     * @param conversionFailText Displayed when the converter fails, e.g Only numbers are accepted.
+     */
+    public <A> A ask(@NotNull Component question, @NotNull Converter<A> converter, @NotNull Component conversionFailText) throws InterruptedException {
+        while (true) {
+            // Outside the try, so the conversation ending interrupts the script instead of asking again
+            String answer = ask(question);
+            A converted;
+            try {
+                converted = converter.convert(answer);
+            } catch (Exception e) {
+                converted = null;
+            }
+            if (converted != null) return converted;
+            conversation.display(conversionFailText);
+        }
+    }
+
+    /**
+     * Same as {@link #ask(Component, Converter, Component)}, but uses {@link Constants#INVALID_INPUT_MESSAGE}.
+     */
+    public <A> A ask(@NotNull Component question, @NotNull Converter<A> converter) throws InterruptedException {
+        return ask(question, converter, Constants.INVALID_INPUT_MESSAGE);
+    }
+
+    /**
+     * Displays a line of the conversation, prepended by the conversation's name if set.
+     */
+    public void say(@NotNull Component message) {
+        conversation.display(message);
+    }
+
+    public UUID participant() {
+        return conversation.getParticipant();
+    }
+
+    public Audience audience() {
+        return conversation.audience();
+    }
+}
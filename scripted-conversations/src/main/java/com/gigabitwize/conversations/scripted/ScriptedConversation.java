@@ -0,0 +1,105 @@
+package com.gigabitwize.conversations.scripted;
+
+import com.gigabitwize.conversations.api.Conversation;
+import com.gigabitwize.conversations.api.ConversationsForwarder;
+import com.gigabitwize.conversations.api.util.Constants;
+import com.gigabitwize.conversations.api.util.StringValidator;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Created by Giovanni on 10/18/2026
+ * <p>
+ * A {@link Conversation} driven by a {@link Script} instead of {@link com.gigabitwize.conversations.api.Prompt}s.
+ * The script runs on a virtual thread which parks while it waits for input, so long-lived dialogues
+ * don't each hold on to a platform thread.
+ * <p>
+ * Input reaches the script the same way it reaches prompts, through {@link ConversationsForwarder#forwardInput}.
+ * Clauses, {@link #by(String)}, {@link #chatVisbility} etc. all work as usual, when the script returns the
+ * finishing text is displayed.
+ */
+public class ScriptedConversation extends Conversation {
+
+    private final Script script;
+    private final ScriptContext context;
+
+    private final BlockingQueue<String> answers = new ArrayBlockingQueue<>(1);
+    private volatile boolean awaitingAnswer;
+    private volatile Thread thread;
+
+    /**
+     * @param participant Audience that participates in this conversation.
+     */
+    public ScriptedConversation(UUID participant, Script script) {
+        super(participant);
+        this.script = script;
+        this.context = new ScriptContext(this);
+    }
+
+    @Override
+    public boolean run() {
+        if (!super.run()) return false;
+        // Queued behind start(), so the script only runs once the conversation has actually started
+        getMailbox().post(() -> {
+            if (isFinished()) return;
+            thread = Thread.ofVirtual()
+                    .name("Conversation-Script-" + getParticipant())
+                    .start(this::execute);
+        });
+        return true;
+    }
+
+    private void execute() {
+        try {
+            script.run(context);
+        } catch (InterruptedException e) {
+            // The conversation ended while the script was waiting for input
+            return;
+        } catch (Exception e) {
+            e.printStackTrace();
+            getMailbox().post(this::end);
+            return;
+        }
+        // Displays the finishing text and ends the conversation, like the last prompt would
+        getMailbox().post(this::next);
+    }
+
+    //** INTERNAL **//
+    String ask(Component question) throws InterruptedException {
+        if (isFinished()) throw new InterruptedException("Conversation has ended");
+        answers.clear();
+        awaitingAnswer = true;
+        try {
+            display(question);
+            return answers.take();
+        } finally {
+            awaitingAnswer = false;
+        }
+    }
+
+    void display(Component line) {
+        Component by = getBy();
+        getAudience().sendMessage(by == null ? line : by.append(Constants.NAME_SEPARATOR).append(line));
+    }
+
+    Audience audience() {
+        return getAudience();
+    }
+
+    @Override
+    protected void handleInput(String input) {
+        if (isFinished() || !awaitingAnswer) return;
+        answers.offer(StringValidator.clean(input));
+    }
+
+    @Override
+    protected void onEnd() {
+        Thread scriptThread = thread;
+        if (scriptThread != null && scriptThread != Thread.currentThread())
+            scriptThread.interrupt();
+    }
+}